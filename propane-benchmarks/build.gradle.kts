@@ -0,0 +1,21 @@
+plugins {
+    id("project.convention.java")
+    alias(libs.plugins.jmh)
+}
+
+dependencies {
+    jmh(project(":propane"))
+    jmhAnnotationProcessor(project(":propane"))
+}
+
+// Usage: ./gradlew :propane-benchmarks:jmh -Pjmh.threads=8 -Pjmh.includes=Resolver -Pjmh.profilers=gc
+// The default thread count of the suite is set by "jmh.threads" in gradle.properties.
+jmh {
+    jmhVersion = libs.versions.jmh
+    threads = (properties["jmh.threads"] as String).trim().toInt()
+    includes = providers.gradleProperty("jmh.includes").map { listOf(it) }.orElse(listOf())
+    profilers = providers.gradleProperty("jmh.profilers").map { it.split(",") }.orElse(listOf())
+    resultFormat = "JSON"
+}
+
+description = "JMH benchmarks for the hot paths of propane."
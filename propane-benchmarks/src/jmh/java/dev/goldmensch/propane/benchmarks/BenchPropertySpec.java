@@ -0,0 +1,70 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.spec.annotation.*;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static dev.goldmensch.propane.benchmarks.BenchScope.CONFIGURATION;
+import static dev.goldmensch.propane.property.Property.FallbackStrategy.COMBINE;
+import static dev.goldmensch.propane.property.Property.Source.PROVIDED;
+
+// the SERVICE_XX properties are accessed by index through Hierarchy#SERVICES
+@Propane("Bench")
+@Scopes({"CONFIGURATION", "INITIALIZED", "REQUEST"})
+public interface BenchPropertySpec {
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_00();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_01();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_02();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_03();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_04();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_05();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_06();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_07();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_08();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_09();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_10();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_11();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_12();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_13();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_14();
+
+    @Singleton(scope = CONFIGURATION, source = PROVIDED)
+    String SERVICE_15();
+
+    @Mapping(scope = CONFIGURATION, source = PROVIDED, fallback = COMBINE)
+    Map<String, String> REGISTRY();
+
+    @Enumeration(scope = CONFIGURATION, source = PROVIDED, fallback = COMBINE)
+    Collection<String> PLUGINS();
+}
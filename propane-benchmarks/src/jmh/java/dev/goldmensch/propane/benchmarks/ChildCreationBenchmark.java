@@ -0,0 +1,40 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.benchmarks.internal.BenchIntrospectionImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures `IntrospectionImplSkeleton.Builder#build` for a REQUEST child appended to
+/// a hierarchy of the given `depth`, once without and once with `providers` own providers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChildCreationBenchmark {
+
+    @Param({"1", "4", "16"})
+    int depth;
+
+    @Param({"1", "8", "16"})
+    int providers;
+
+    private BenchIntrospectionImpl leaf;
+
+    @Setup
+    public void setup() {
+        leaf = Hierarchy.chain(Hierarchy.root(providers), depth);
+    }
+
+    @Benchmark
+    public BenchIntrospectionImpl buildEmpty() {
+        return leaf.createChild(BenchScope.REQUEST).build();
+    }
+
+    @Benchmark
+    public BenchIntrospectionImpl buildWithProviders() {
+        return Hierarchy.provide(leaf.createChild(BenchScope.REQUEST), providers, "request").build();
+    }
+}
@@ -0,0 +1,50 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.benchmarks.internal.BenchIntrospectionImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures the cold resolution of a chain of dependent properties in a fresh REQUEST child, where the provider
+/// of each service requires the previous one. `length` is the amount of services in the chain.
+///
+/// With `trusted` set, the root is created with `trustDependencies()`, so that after the first resolution the
+/// providers are called without cycle tracking.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DependencyBenchmark {
+
+    @Param({"4", "16"})
+    int length;
+
+    @Param({"false", "true"})
+    boolean trusted;
+
+    private BenchIntrospectionImpl root;
+
+    @Setup
+    public void setup() {
+        BenchIntrospectionImpl.Builder builder = BenchIntrospectionImpl.create(BenchScope.CONFIGURATION);
+        if (trusted) {
+            builder.trustDependencies();
+        }
+        root = builder.build();
+    }
+
+    @Benchmark
+    public String resolve() {
+        BenchIntrospectionImpl.Builder builder = root.createChild(BenchScope.REQUEST)
+                .addFallback(BenchProperty.SERVICE_00, DependencyBenchmark.class, _ -> "service");
+
+        for (int i = 1; i < length; i++) {
+            BenchProperty<String> required = Hierarchy.SERVICES.get(i - 1);
+            builder.addFallback(Hierarchy.SERVICES.get(i), DependencyBenchmark.class, introspection -> introspection.get(required));
+        }
+
+        return builder.build().get(Hierarchy.SERVICES.get(length - 1));
+    }
+}
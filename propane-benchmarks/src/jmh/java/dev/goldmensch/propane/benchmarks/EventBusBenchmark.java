@@ -0,0 +1,52 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.benchmarks.internal.BenchIntrospectionImpl;
+import dev.goldmensch.propane.event.Listener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/// Measures `EventBus#publish` of an event published in the leaf of a hierarchy with the given `depth`,
+/// where each introspection instance of the hierarchy has `listeners` listeners registered.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+
+    @Param({"1", "4", "16"})
+    int depth;
+
+    @Param({"1", "8", "32"})
+    int listeners;
+
+    private final LongAdder received = new LongAdder();
+    private BenchIntrospectionImpl leaf;
+
+    @Setup
+    public void setup() {
+        BenchIntrospectionImpl current = Hierarchy.root(0);
+        subscribe(current);
+
+        for (int i = 0; i < depth; i++) {
+            current = current.createChild(BenchScope.REQUEST).build();
+            subscribe(current);
+        }
+
+        leaf = current;
+    }
+
+    private void subscribe(BenchIntrospectionImpl introspection) {
+        for (int i = 0; i < listeners; i++) {
+            introspection.subscribe(Listener.create(RequestEvent.class, (_, _) -> received.increment()));
+        }
+    }
+
+    @Benchmark
+    public void publish() {
+        leaf.publish(new RequestEvent(1));
+    }
+}
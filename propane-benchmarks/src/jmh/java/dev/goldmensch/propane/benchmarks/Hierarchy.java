@@ -0,0 +1,50 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.benchmarks.internal.BenchIntrospectionImpl;
+
+import java.util.List;
+
+// builds the introspection hierarchies shared by all benchmarks
+final class Hierarchy {
+    static final List<BenchProperty<String>> SERVICES = List.of(
+            BenchProperty.SERVICE_00,
+            BenchProperty.SERVICE_01,
+            BenchProperty.SERVICE_02,
+            BenchProperty.SERVICE_03,
+            BenchProperty.SERVICE_04,
+            BenchProperty.SERVICE_05,
+            BenchProperty.SERVICE_06,
+            BenchProperty.SERVICE_07,
+            BenchProperty.SERVICE_08,
+            BenchProperty.SERVICE_09,
+            BenchProperty.SERVICE_10,
+            BenchProperty.SERVICE_11,
+            BenchProperty.SERVICE_12,
+            BenchProperty.SERVICE_13,
+            BenchProperty.SERVICE_14,
+            BenchProperty.SERVICE_15
+    );
+
+    private Hierarchy() {}
+
+    // CONFIGURATION root with one fallback provider for each of the first `providers` services
+    static BenchIntrospectionImpl root(int providers) {
+        return provide(BenchIntrospectionImpl.create(BenchScope.CONFIGURATION), providers, "root").build();
+    }
+
+    // appends `depth` REQUEST children to the given introspection and returns the last one
+    static BenchIntrospectionImpl chain(BenchIntrospectionImpl parent, int depth) {
+        BenchIntrospectionImpl current = parent;
+        for (int i = 0; i < depth; i++) {
+            current = current.createChild(BenchScope.REQUEST).build();
+        }
+        return current;
+    }
+
+    static BenchIntrospectionImpl.Builder provide(BenchIntrospectionImpl.Builder builder, int providers, String value) {
+        for (int i = 0; i < providers; i++) {
+            builder.addFallback(SERVICES.get(i), Hierarchy.class, _ -> value);
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,58 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.benchmarks.internal.BenchIntrospectionImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/// Measures the cold resolution of `REGISTRY` (mapping) and `PLUGINS` (enumeration) in a fresh REQUEST child,
+/// that contributes one own entry on top of the `entries` entries provided by the root.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiValueBenchmark {
+
+    @Param({"4"})
+    int depth;
+
+    @Param({"16", "4096"})
+    int entries;
+
+    private BenchIntrospectionImpl leaf;
+
+    @Setup
+    public void setup() {
+        Map<String, String> registry = new HashMap<>();
+        List<String> plugins = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            registry.put("service" + i, "implementation" + i);
+            plugins.add("plugin" + i);
+        }
+
+        BenchIntrospectionImpl root = BenchIntrospectionImpl.create(BenchScope.CONFIGURATION)
+                .addFallback(BenchProperty.REGISTRY, MultiValueBenchmark.class, _ -> registry)
+                .addFallback(BenchProperty.PLUGINS, MultiValueBenchmark.class, _ -> plugins)
+                .build();
+
+        leaf = Hierarchy.chain(root, depth);
+    }
+
+    @Benchmark
+    public void coldOwnEntry(Blackhole blackhole) {
+        BenchIntrospectionImpl request = leaf.createChild(BenchScope.REQUEST)
+                .addFallback(BenchProperty.REGISTRY, MultiValueBenchmark.class, _ -> Map.of("request", "implementation"))
+                .addFallback(BenchProperty.PLUGINS, MultiValueBenchmark.class, _ -> List.of("request"))
+                .build();
+
+        blackhole.consume(request.get(BenchProperty.REGISTRY));
+        blackhole.consume(request.get(BenchProperty.PLUGINS));
+    }
+}
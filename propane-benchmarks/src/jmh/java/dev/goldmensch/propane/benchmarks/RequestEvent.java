@@ -0,0 +1,8 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.benchmarks.internal.BenchEvent;
+import dev.goldmensch.propane.benchmarks.internal.Event;
+
+@Event(BenchScope.REQUEST)
+public record RequestEvent(int id) implements BenchEvent {
+}
@@ -0,0 +1,71 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.benchmarks.internal.BenchIntrospectionImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures property resolution (`Resolver#get`) through [BenchIntrospectionImpl#get(BenchProperty)].
+///
+/// - `warm`: all values are already cached in the leaf of the hierarchy
+/// - `warmSingle`: one cached value, run with `-Pjmh.profilers=gc` to check that the warm path doesn't allocate (0 B/op)
+/// - `coldInherited`: a fresh REQUEST child without own providers reads the values of its parents
+/// - `coldProvided`: a fresh REQUEST child computes the values of its own providers
+///
+/// Each invocation reads `providers` properties.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolverBenchmark {
+
+    @Param({"1", "4", "16"})
+    int depth;
+
+    @Param({"1", "8", "16"})
+    int providers;
+
+    private BenchIntrospectionImpl leaf;
+
+    @Setup
+    public void setup() {
+        leaf = Hierarchy.chain(Hierarchy.root(providers), depth);
+
+        for (int i = 0; i < providers; i++) {
+            leaf.get(Hierarchy.SERVICES.get(i));
+        }
+    }
+
+    @Benchmark
+    public void warm(Blackhole blackhole) {
+        for (int i = 0; i < providers; i++) {
+            blackhole.consume(leaf.get(Hierarchy.SERVICES.get(i)));
+        }
+    }
+
+    @Benchmark
+    public String warmSingle() {
+        return leaf.get(BenchProperty.SERVICE_00);
+    }
+
+    @Benchmark
+    public void coldInherited(Blackhole blackhole) {
+        BenchIntrospectionImpl request = leaf.createChild(BenchScope.REQUEST).build();
+
+        for (int i = 0; i < providers; i++) {
+            blackhole.consume(request.get(Hierarchy.SERVICES.get(i)));
+        }
+    }
+
+    @Benchmark
+    public void coldProvided(Blackhole blackhole) {
+        BenchIntrospectionImpl request = Hierarchy.provide(leaf.createChild(BenchScope.REQUEST), providers, "request").build();
+
+        for (int i = 0; i < providers; i++) {
+            blackhole.consume(request.get(Hierarchy.SERVICES.get(i)));
+        }
+    }
+}
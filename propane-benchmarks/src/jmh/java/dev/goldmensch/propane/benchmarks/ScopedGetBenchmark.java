@@ -0,0 +1,42 @@
+package dev.goldmensch.propane.benchmarks;
+
+import dev.goldmensch.propane.benchmarks.internal.BenchIntrospectionImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/// Measures `SpecificProperty#scopedGet` inside a scope bound to the leaf of a hierarchy with the given `depth`.
+/// The values of the first `providers` services are read round-robin, all of them are cached already.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScopedGetBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"1", "4", "16"})
+    int depth;
+
+    @Param({"1", "8", "16"})
+    int providers;
+
+    private BenchIntrospectionImpl leaf;
+
+    @Setup
+    public void setup() {
+        leaf = Hierarchy.chain(Hierarchy.root(providers), depth);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void scopedGet(Blackhole blackhole) {
+        leaf.scoped().run(() -> {
+            for (int i = 0; i < BATCH; i++) {
+                blackhole.consume(Hierarchy.SERVICES.get(i % providers).scopedGet());
+            }
+        });
+    }
+}
@@ -0,0 +1,116 @@
+package dev.goldmensch.propane;
+
+import dev.goldmensch.propane.property.Property;
+import dev.goldmensch.propane.property.PropertyProviderSkeleton;
+import dev.goldmensch.propane.property.SpecificProperty;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/// A [DependencyGraph] is a snapshot of the properties required by the [`PropertyProviders`][PropertyProviderSkeleton]
+/// of some properties, as observed while resolving them.
+///
+/// The dependencies of a property are only known after it was resolved at least once with dependencies being recorded,
+/// see [`IntrospectionImplSkeleton.Builder#recordDependencies()`][IntrospectionImplSkeleton.Builder#recordDependencies()].
+/// Properties that weren't resolved yet have no dependencies in this graph.
+///
+/// Beside querying it, the graph can be exported in the [DOT][#toDot()] or [JSON][#toJson()] format
+/// and used to compute a [resolution plan][#plan()].
+///
+/// @see IntrospectionImplSkeleton#dependencyGraph()
+public final class DependencyGraph {
+    private final Map<Property<?>, Set<Property<?>>> dependencies;
+
+    /// @param properties the properties of this graph
+    /// @param dependencies the observed dependencies of each property
+    public DependencyGraph(Collection<Property<?>> properties, Function<Property<?>, Set<Property<?>>> dependencies) {
+        Map<Property<?>, Set<Property<?>>> graph = new LinkedHashMap<>();
+        for (Property<?> property : properties) {
+            graph.put(property, Set.copyOf(dependencies.apply(property)));
+        }
+
+        this.dependencies = Collections.unmodifiableMap(graph);
+    }
+
+    /// @return the properties of this graph
+    public Set<Property<?>> properties() {
+        return dependencies.keySet();
+    }
+
+    /// Returns the properties required by the providers of the given property. These may also be properties
+    /// that aren't part of this graph, for example properties without providers.
+    ///
+    /// @param property the property to look up
+    /// @return the properties required by the given one, empty if it has none or wasn't resolved yet
+    public Set<Property<?>> dependencies(SpecificProperty<?> property) {
+        return dependencies.getOrDefault(property.generalized(), Set.of());
+    }
+
+    /// Computes a resolution plan of the properties of this graph.
+    ///
+    /// The plan consists of layers, each property is placed in the layer after the last one containing a property it requires.
+    /// Thus, the properties of each layer can be resolved in parallel, after the ones of the previous layers were resolved.
+    /// The amount of layers is the length of the longest dependency chain, the critical path of resolving all properties.
+    ///
+    /// If the properties contain a cycle, all properties that can't be placed otherwise are part of the last layer.
+    ///
+    /// @return the layers of properties in resolution order
+    public List<List<Property<?>>> plan() {
+        List<List<Property<?>>> plan = new ArrayList<>();
+
+        Set<Property<?>> remaining = new LinkedHashSet<>(dependencies.keySet());
+        while (!remaining.isEmpty()) {
+            List<Property<?>> layer = remaining.stream()
+                    .filter(property -> dependencies.get(property).stream()
+                            .noneMatch(required -> required != property && remaining.contains(required)))
+                    .toList();
+
+            if (layer.isEmpty()) {
+                layer = List.copyOf(remaining);
+            }
+            layer.forEach(remaining::remove);
+            plan.add(layer);
+        }
+
+        return plan;
+    }
+
+    /// Exports this graph in the DOT format of [Graphviz](https://graphviz.org), with one edge pointing
+    /// from each property to each property it requires.
+    ///
+    /// @return the graph in DOT format
+    public String toDot() {
+        StringBuilder builder = new StringBuilder("digraph dependencies {\n");
+        dependencies.forEach((property, required) -> {
+            builder.append("  ").append(quote(property.name())).append(";\n");
+            for (Property<?> dependency : required) {
+                builder.append("  ").append(quote(property.name())).append(" -> ").append(quote(dependency.name())).append(";\n");
+            }
+        });
+
+        return builder.append("}\n").toString();
+    }
+
+    /// Exports this graph as JSON, an array containing an object per property:
+    /// ```json
+    /// [{"name": "FOO", "scope": "ROOT", "dependencies": ["BAR"]}]
+    /// ```
+    ///
+    /// @return the graph in JSON format
+    public String toJson() {
+        return dependencies.entrySet().stream()
+                .map(entry -> "{\"name\": %s, \"scope\": %s, \"dependencies\": [%s]}".formatted(
+                        quote(entry.getKey().name()),
+                        quote(entry.getKey().scope().toString()),
+                        entry.getValue().stream()
+                                .map(dependency -> quote(dependency.name()))
+                                .sorted()
+                                .collect(Collectors.joining(", "))))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -1,20 +1,33 @@
 package dev.goldmensch.propane;
 
+import dev.goldmensch.propane.event.BackPressure;
+import dev.goldmensch.propane.event.BatchListener;
 import dev.goldmensch.propane.event.Event;
+import dev.goldmensch.propane.event.EventMetrics;
 import dev.goldmensch.propane.event.Listener;
 import dev.goldmensch.propane.event.Subscription;
 import dev.goldmensch.propane.event.internal.EventBus;
 import dev.goldmensch.propane.internal.exposed.Properties;
 import dev.goldmensch.propane.internal.Resolver;
 import dev.goldmensch.propane.internal.Scopes;
+import dev.goldmensch.propane.property.CacheStatistics;
 import dev.goldmensch.propane.property.Priority;
 import dev.goldmensch.propane.property.Property;
 import dev.goldmensch.propane.property.PropertyProviderSkeleton;
+import dev.goldmensch.propane.property.ProviderStatistics;
 import dev.goldmensch.propane.property.SpecificProperty;
 import dev.goldmensch.propane.spec.SkeletonMethod;
 import dev.goldmensch.propane.spec.SkeletonMethodException;
 import org.jspecify.annotations.Nullable;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /// Propane differentiates its API into two 2 sides:
@@ -46,12 +59,16 @@ implements IntrospectionSkeleton<I, S> {
     final Registry<S> registry;
     final EventBus<I, S> eventBus;
     private final S scope;
+    private final int scopePriority;
     final Resolver<I> resolver;
+    // the listeners subscribed for the lifetime of this instance, see subscribe(Listener, IntrospectionImplSkeleton)
+    private @Nullable List<Listener<?, ?, ?>> retained;
 
     // called by Builder#newInstance
     protected IntrospectionImplSkeleton(S scope, Properties<I> properties, I_SELF parent) {
         this.registry = parent.registry;
         this.scope = scope;
+        this.scopePriority = scope.priority();
 
         addIntrospectionProvider(properties);
         this.resolver = parent.resolver.createChild(properties, self());
@@ -62,7 +79,8 @@ implements IntrospectionSkeleton<I, S> {
     protected IntrospectionImplSkeleton(Registry<S> registry, S scope) {
         this.registry = registry;
         this.scope = scope;
-        this.resolver = Resolver.createEmpty();
+        this.scopePriority = scope.priority();
+        this.resolver = Resolver.createEmpty(registry.properties());
         this.eventBus = new EventBus<>(registry, scope, null);
     }
 
@@ -82,12 +100,95 @@ implements IntrospectionSkeleton<I, S> {
     // overridden with real SpecificProperty implementation
     public <T> T get(SpecificProperty<T> specific) {
         Property<T> property = specific.generalized();
-        Scope propertyScope = property.scope();
-        if (!Scopes.isParent(propertyScope, scope)) {
-            throw new RuntimeException("scope (%s) of property (%s) isn't child of or equal to introspection scope %s".formatted(propertyScope, property.name(), scope));
+        // equals Scopes.isParent(property.scope(), scope), the priority of this instance is looked up once in the constructor
+        if (property.scope().priority() > scopePriority) {
+            throw new RuntimeException("scope (%s) of property (%s) isn't child of or equal to introspection scope %s".formatted(property.scope(), property.name(), scope));
         }
 
-        return resolver.get(property).orElseThrow();
+        T value = resolver.get(property);
+        if (value == null) {
+            throw new NoSuchElementException("No value present for property %s".formatted(property.name()));
+        }
+
+        return value;
+    }
+
+    /// Eagerly resolves all properties, that have a [`PropertyProvider`][PropertyProviderSkeleton] registered on this
+    /// introspection instance, on the given [Executor].
+    ///
+    /// The properties are resolved following the [plan][DependencyGraph#plan()] of their [#dependencyGraph()].
+    /// If dependencies are [recorded][Builder#recordDependencies()] or [trusted][Builder#trustDependencies()],
+    /// properties are resolved after the ones their providers required before, otherwise providers resolve required properties
+    /// themselves on demand.
+    ///
+    /// Independent properties are resolved in parallel. If several of them require the same property, its providers
+    /// are still only called once, the warm-up resolves like in [single-flight][Builder#singleFlight()] mode.
+    ///
+    /// This moves the latency of slow providers from the first reads, for example by requests, to startup.
+    ///
+    /// @param executor the [Executor] running the providers, for example a [java.util.concurrent.ForkJoinPool] or virtual threads
+    /// @return a [CompletableFuture] completed after all properties are resolved, or exceptionally if a provider failed
+    public CompletableFuture<Void> warmUp(Executor executor) {
+        return resolver.warmUp(executor);
+    }
+
+    /// Returns the [DependencyGraph] of all properties, that have a [`PropertyProvider`][PropertyProviderSkeleton] registered on this
+    /// introspection instance or any parent instance.
+    ///
+    /// The dependencies of the properties are shared by the whole hierarchy of introspection instances: once observed
+    /// in one child, they are known to all children created later. They are only recorded if enabled by
+    /// [Builder#recordDependencies()] or [Builder#trustDependencies()], otherwise the graph has no dependencies.
+    ///
+    /// @return a snapshot of the currently known dependencies
+    public DependencyGraph dependencyGraph() {
+        return resolver.dependencyGraph();
+    }
+
+    /// Returns the cumulative [ProviderStatistics] of all [`PropertyProvider`][PropertyProviderSkeleton]s called by the whole
+    /// hierarchy of introspection instances, grouped by their [owner][PropertyProviderSkeleton#owner()].
+    ///
+    /// The statistics are only collected if enabled by [Builder#profileProviders()], otherwise this method throws an exception.
+    ///
+    /// @return a snapshot of the statistics per owner
+    public Map<Class<?>, ProviderStatistics> providerStatistics() {
+        return resolver.providerStatistics();
+    }
+
+    /// Returns the cumulative [ProviderStatistics] of the [`PropertyProvider`][PropertyProviderSkeleton]s of the given property
+    /// called by the whole hierarchy of introspection instances, grouped by their [owner][PropertyProviderSkeleton#owner()].
+    ///
+    /// The statistics are only collected if enabled by [Builder#profileProviders()], otherwise this method throws an exception.
+    ///
+    /// @param specific the property, whose providers are of interest
+    /// @return a snapshot of the statistics per owner, empty if no provider of the property was called yet
+    public Map<Class<?>, ProviderStatistics> providerStatistics(SpecificProperty<?> specific) {
+        return resolver.providerStatistics(specific.generalized());
+    }
+
+    /// Returns the [CacheStatistics] of all properties read by the whole hierarchy of introspection instances,
+    /// one per property and [Scope] of the reading instances.
+    ///
+    /// The statistics are only collected if enabled by [Builder#recordCacheStatistics()], otherwise this method throws an exception.
+    ///
+    /// @return a snapshot of the statistics
+    public List<CacheStatistics> cacheStatistics() {
+        return resolver.cacheStatistics();
+    }
+
+    /// Returns the [owners][PropertyProviderSkeleton#owner()] of all [`PropertyProvider`][PropertyProviderSkeleton]s that contributed
+    /// to the value of the given property. The owners of this instance's providers come first, followed by the ones of its parents.
+    ///
+    /// Provenance is only recorded if enabled by [Builder#recordProvenance()], otherwise this method throws an exception.
+    ///
+    /// @param specific the property to look up
+    /// @return the owners of the providers, empty if the property has no value
+    public List<Class<?>> provenance(SpecificProperty<?> specific) {
+        Property<?> property = specific.generalized();
+        if (property.scope().priority() > scopePriority) {
+            throw new RuntimeException("scope (%s) of property (%s) isn't child of or equal to introspection scope %s".formatted(property.scope(), property.name(), scope));
+        }
+
+        return resolver.provenance(property);
     }
 
     /// {@inheritDoc}
@@ -110,11 +211,59 @@ implements IntrospectionSkeleton<I, S> {
     /// {@inheritDoc}
     @Override
     public Subscription<I, S> subscribe(Listener<? extends Event<S>, S, I> listener) {
-        eventBus.add(listener);
+        eventBus.add(listener, false);
 
         return new Subscription<>(listener, eventBus);
     }
 
+    /// Subscribes the given listener like [#subscribe(Listener)], but only references it weakly.
+    ///
+    /// The listener is called as long as it is strongly reachable from somewhere else. After it got garbage collected,
+    /// it is removed automatically during one of the next publishes, so forgetting to [unsubscribe][Subscription#unsubscribe()]
+    /// doesn't let long living introspection instances accumulate listeners.
+    ///
+    /// @param listener the [Listener] to be subscribed
+    /// @return the [Subscription] of the listener, that keeps the listener reachable as long as it is referenced
+    public Subscription<I, S> subscribeWeakly(Listener<? extends Event<S>, S, I> listener) {
+        eventBus.add(listener, true);
+
+        return new Subscription<>(listener, eventBus);
+    }
+
+    /// Subscribes the given listener like [#subscribe(Listener)] for the lifetime of the given owner.
+    ///
+    /// Usually, the owner is a short living child of this introspection instance, for example one per request.
+    /// The owner keeps the listener reachable, while this instance only references it weakly (see [#subscribeWeakly(Listener)]).
+    /// After the owner got garbage collected, the listener is removed automatically, even if it references the owner itself.
+    ///
+    /// @param listener the [Listener] to be subscribed
+    /// @param owner the introspection instance, whose lifetime the subscription is tied to
+    /// @return the [Subscription] of the listener
+    public Subscription<I, S> subscribe(Listener<? extends Event<S>, S, I> listener, IntrospectionImplSkeleton<?, ?, ?, ?> owner) {
+        owner.retain(listener);
+        eventBus.add(listener, true);
+
+        // the subscription mustn't keep the owner reachable
+        WeakReference<IntrospectionImplSkeleton<?, ?, ?, ?>> ownerReference = new WeakReference<>(owner);
+        return new Subscription<>(listener, eventBus, () -> {
+            IntrospectionImplSkeleton<?, ?, ?, ?> current = ownerReference.get();
+            if (current != null) current.release(listener);
+        });
+    }
+
+    private synchronized void retain(Listener<?, ?, ?> listener) {
+        if (retained == null) {
+            retained = new ArrayList<>();
+        }
+        retained.add(listener);
+    }
+
+    private synchronized void release(Listener<?, ?, ?> listener) {
+        if (retained != null) {
+            retained.remove(listener);
+        }
+    }
+
     /// Publishes the given event to this introspection and its parents.
     ///
     /// All listeners registered on this introspection instance or any parent instance, that are listening
@@ -125,6 +274,35 @@ implements IntrospectionSkeleton<I, S> {
         eventBus.publish(event, self());
     }
 
+    /// Publishes all given events to this introspection and its parents at once.
+    ///
+    /// Compared to calling [#publish(Event)] for each event, the events are grouped by their class and each group
+    /// is passed to the listeners as a whole: a [BatchListener] receives all events of its type in one call, any other
+    /// [Listener] is called once per event.
+    /// The groups are published in the order their classes first occur in the collection. Thus, the order of the
+    /// collection is only kept within each event class, events of different classes may be received in another order.
+    /// All events must have the same [Scope] as this introspection instance, otherwise none of them is published.
+    ///
+    /// @param events the [Event]s to be published
+    public void publishAll(Collection<? extends Event<S>> events) {
+        eventBus.publishAll(events, self());
+    }
+
+    /// Publishes the given event to this introspection and its parents asynchronously.
+    ///
+    /// The same listeners as for [#publish(Event)] are called, but each of them on a virtual thread. Every [Listener]
+    /// receives the asynchronously published events in the order they were published, one after another.
+    /// Inside the listener, scoped access to this introspection instance is available as with [#publish(Event)].
+    ///
+    /// If a listener can't keep up with the published events, the configured [BackPressure] applies,
+    /// see [Builder#backPressure(int, BackPressure)].
+    ///
+    /// @param event the [Event] to be published
+    /// @return a [CompletableFuture] completing once all listeners handled the event, exceptionally if any of them failed
+    public CompletableFuture<Void> publishAsync(Event<S> event) {
+        return eventBus.publishAsync(event, self());
+    }
+
     /// Returns an [ScopedValue.Carrier] with the introspection instance set. So you can use
     /// [ScopedValue.Carrier#call(ScopedValue.CallableOp)] and friends to make this instance available
     /// in the scope.
@@ -145,6 +323,15 @@ implements IntrospectionSkeleton<I, S> {
     @SkeletonMethod
     public abstract ScopedValue.Carrier scoped();
 
+    /// Returns whether this introspection instance is the one currently available through scoped access,
+    /// that is whether the code calling this method runs inside of [#scoped()].
+    ///
+    /// @return whether this instance is bound for scoped access
+    // body:
+    // return INTROSPECTION.isBound() && INTROSPECTION.get() == this;
+    @SkeletonMethod
+    public abstract boolean isScoped();
+
 
     @SuppressWarnings("unchecked")
     private I self() {
@@ -223,6 +410,133 @@ implements IntrospectionSkeleton<I, S> {
             throw new SkeletonMethodException();
         }
 
+        /// Enables the trusted mode for the whole hierarchy of introspection instances created by this builder.
+        ///
+        /// Normally each [`PropertyProvider`][PropertyProviderSkeleton] call is tracked to detect cyclic dependencies between properties.
+        /// In trusted mode, the properties required by the providers of a property are recorded. Once a property and all
+        /// properties it requires were resolved without a cycle, its providers will be called without tracking.
+        /// If a provider requires a property that wasn't recorded before, all properties fall back to tracking
+        /// until they are resolved successfully again.
+        ///
+        /// This mode is meant for static provider graphs, where the same providers require the same properties in every
+        /// child introspection instance. Cyclic dependencies are still detected, but the reported cycle may miss
+        /// providers that were called untracked.
+        ///
+        /// Can only be called on the builder returned by [`#create(Scope)`][IntrospectionImplSkeleton#create(Scope)].
+        ///
+        /// @return this builder instance
+        public B trustDependencies() {
+            IntrospectionImplSkeleton.this.resolver.trustDependencies();
+            return self();
+        }
+
+        /// Enables single-flight resolution for the whole hierarchy of introspection instances created by this builder.
+        ///
+        /// Normally, if several threads read the same property before its value is cached, each of them calls the providers
+        /// and only one of the results is kept. In single-flight mode, only one thread calls the providers, while the others
+        /// wait for its result. This is meant for expensive providers, that are hit concurrently, for example at startup.
+        ///
+        /// Waiting doesn't hold any monitor, thus it's safe for virtual threads. Cyclic dependencies are still detected,
+        /// even if the providers involved are called by different threads.
+        ///
+        /// Can only be called on the builder returned by [`#create(Scope)`][IntrospectionImplSkeleton#create(Scope)].
+        ///
+        /// @return this builder instance
+        public B singleFlight() {
+            IntrospectionImplSkeleton.this.resolver.singleFlight();
+            return self();
+        }
+
+        /// Enables profiling each [`PropertyProvider`][PropertyProviderSkeleton] call for the whole hierarchy of introspection instances
+        /// created by this builder.
+        ///
+        /// While profiling, each call updates the [statistics][IntrospectionImplSkeleton#providerStatistics()] of the provider's owner
+        /// and commits a JFR event named `dev.goldmensch.propane.ProviderInvocation`, if it's enabled in the current recording
+        /// and the optional module `jdk.jfr` is available.
+        /// The event carries the property, its scope, the owner and priority of the provider, the duration of the call,
+        /// whether it returned `null` and the amount of providers that called it.
+        ///
+        /// Can only be called on the builder returned by [`#create(Scope)`][IntrospectionImplSkeleton#create(Scope)].
+        ///
+        /// @return this builder instance
+        public B profileProviders() {
+            IntrospectionImplSkeleton.this.resolver.profileProviders();
+            return self();
+        }
+
+        /// Enables recording cache statistics for the whole hierarchy of introspection instances created by this builder,
+        /// see [IntrospectionImplSkeleton#cacheStatistics()].
+        ///
+        /// While recording, each read of a property is counted as hit, miss or inherited from the parent instance,
+        /// and each computation is measured. The statistics are also reported periodically as JFR events named
+        /// `dev.goldmensch.propane.PropertyCacheStatistics`, if enabled in the current recording and the optional module `jdk.jfr` is available.
+        ///
+        /// Can only be called on the builder returned by [`#create(Scope)`][IntrospectionImplSkeleton#create(Scope)].
+        ///
+        /// @return this builder instance
+        public B recordCacheStatistics() {
+            IntrospectionImplSkeleton.this.resolver.recordCacheStatistics();
+            return self();
+        }
+
+        /// Enables recording the dependencies between properties for the whole hierarchy of introspection instances
+        /// created by this builder, see [IntrospectionImplSkeleton#dependencyGraph()].
+        ///
+        /// While recording, the properties required by the [`PropertyProvider`][PropertyProviderSkeleton]s of each property are stored.
+        /// In contrast to [#trustDependencies()], providers are still called with cycle tracking.
+        ///
+        /// Can only be called on the builder returned by [`#create(Scope)`][IntrospectionImplSkeleton#create(Scope)].
+        ///
+        /// @return this builder instance
+        public B recordDependencies() {
+            IntrospectionImplSkeleton.this.resolver.recordDependencies();
+            return self();
+        }
+
+        /// Enables recording the provenance of property values for the whole hierarchy of introspection instances
+        /// created by this builder, see [IntrospectionImplSkeleton#provenance(SpecificProperty)].
+        ///
+        /// While recording, each computed value additionally stores the [owners][PropertyProviderSkeleton#owner()] of
+        /// the providers that contributed to it. This is meant for diagnostics and costs an allocation per computed value.
+        ///
+        /// Can only be called on the builder returned by [`#create(Scope)`][IntrospectionImplSkeleton#create(Scope)].
+        ///
+        /// @return this builder instance
+        public B recordProvenance() {
+            IntrospectionImplSkeleton.this.resolver.recordProvenance();
+            return self();
+        }
+
+        /// Configures the back-pressure of [asynchronously published][IntrospectionImplSkeleton#publishAsync(Event)] events for the
+        /// whole hierarchy of introspection instances created by this builder.
+        ///
+        /// Each [Listener] buffers up to `capacity` events that weren't handled yet. If an event is published while the buffer is full,
+        /// `backPressure` decides what happens. By default, the buffers are unbounded.
+        ///
+        /// Can only be called on the builder returned by [`#create(Scope)`][IntrospectionImplSkeleton#create(Scope)].
+        ///
+        /// @param capacity the amount of pending events per listener, at least 1
+        /// @param backPressure what happens if a listener's buffer is full
+        /// @return this builder instance
+        public B backPressure(int capacity, BackPressure backPressure) {
+            IntrospectionImplSkeleton.this.eventBus.backPressure(capacity, backPressure);
+            return self();
+        }
+
+        /// Sets the [EventMetrics] measuring each call of a [Listener] for the whole hierarchy of introspection
+        /// instances created by this builder.
+        ///
+        /// By default, no metrics are set and listeners are called without measuring them.
+        ///
+        /// Can only be called on the builder returned by [`#create(Scope)`][IntrospectionImplSkeleton#create(Scope)].
+        ///
+        /// @param metrics the [EventMetrics] receiving the measurements, see [EventMetrics#jfr()]
+        /// @return this builder instance
+        public B eventMetrics(EventMetrics metrics) {
+            IntrospectionImplSkeleton.this.eventBus.metrics(metrics);
+            return self();
+        }
+
         /// Creates a new [`Introspection`][IntrospectionSkeleton] instance with the scope of this builder and
         /// the registered providers.
         ///
@@ -1,24 +1,83 @@
 package dev.goldmensch.propane;
 
 import dev.goldmensch.propane.event.Event;
+import dev.goldmensch.propane.internal.Scopes;
+import dev.goldmensch.propane.property.Property;
+import org.jspecify.annotations.Nullable;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /// The [Registry] is used to store metadata gathered during compile-time.
 ///
-/// For example, it maps event [Class]es to their [Scope]s.
+/// For example, it maps event [Class]es to their [Scope]s and keeps track of the
+/// [ordinals][Property#ordinal()] assigned to properties.
 ///
-/// The instance of [Registry] must always be accessible by a `static final` singleton
-/// and its data must be constant during runtime.
+/// The instance of [Registry] must always be accessible by a `static final` singleton.
+/// Its event metadata is constant during runtime, only the [ordinals][Property#ordinal()] of
+/// properties created at runtime are assigned on the fly.
 public class Registry<S extends Scope> {
-    private final Map<Class<? extends Event<S>>, S> eventScopes;
+    private final Class<?>[] events;
+    private final Scope[] scopes;
+    // the priorities of the scopes, so that scope checks are a plain int compare
+    private final int[] priorities;
+    private final ClassValue<Integer> ids = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            for (int id = 0; id < events.length; id++) {
+                if (events[id] == type) return id;
+            }
+            return -1;
+        }
+    };
+
+    private final AtomicInteger ordinals;
+    // equal properties must share their ordinal, see #ordinal(Object)
+    private final Map<Object, Integer> interned = new ConcurrentHashMap<>();
+    // derived from the registered events on first use, thus constant too
+    private final Map<Class<?>, S> supertypeScopes = new ConcurrentHashMap<>();
 
     public Registry(Map<Class<? extends Event<S>>, S> eventScopes) {
-        this.eventScopes = eventScopes;
+        this(eventScopes, 0);
+    }
+
+    /// @param eventScopes the [Scope]s of all events
+    /// @param properties the amount of properties, that got their [ordinal][Property#ordinal()] assigned during compile-time
+    public Registry(Map<Class<? extends Event<S>>, S> eventScopes, int properties) {
+        this(List.copyOf(eventScopes.entrySet()), properties);
+    }
+
+    /// @param eventScopes the [Scope]s of all events, the index of each entry is used as the [id][#eventId(Class)] of the event
+    /// @param properties the amount of properties, that got their [ordinal][Property#ordinal()] assigned during compile-time
+    public Registry(List<Map.Entry<Class<? extends Event<S>>, S>> eventScopes, int properties) {
+        this.events = new Class<?>[eventScopes.size()];
+        this.scopes = new Scope[eventScopes.size()];
+        this.priorities = new int[eventScopes.size()];
+        for (int id = 0; id < eventScopes.size(); id++) {
+            Map.Entry<Class<? extends Event<S>>, S> entry = eventScopes.get(id);
+            events[id] = entry.getKey();
+            scopes[id] = entry.getValue();
+            priorities[id] = entry.getValue().priority();
+        }
+
+        this.ordinals = new AtomicInteger(properties);
     }
 
+    /// Returns the [Scope] of the given event.
+    ///
+    /// For a supertype of events (e.g. a sealed interface), that isn't registered itself, this is the scope
+    /// of the registered events implementing it, that is the [parent][Scope#priority()] of all others.
+    ///
+    /// @param event the event or event supertype
+    /// @return the [Scope] of the event
+    @SuppressWarnings("unchecked")
     public S scopeForEvent(Class<? extends Event<S>> event) {
-        S scope = eventScopes.get(event);
+        int id = eventId(event);
+        S scope = id != -1
+                ? (S) scopes[id]
+                : supertypeScopes.computeIfAbsent(event, this::scopeForSupertype);
 
         if (scope == null) {
             throw new RuntimeException("No scope found for event %s. Most likely it's falsely missing from the registry implementation.".formatted(event));
@@ -26,4 +85,72 @@ public class Registry<S extends Scope> {
 
         return scope;
     }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable S scopeForSupertype(Class<?> supertype) {
+        S scope = null;
+        for (int id = 0; id < events.length; id++) {
+            if (!supertype.isAssignableFrom(events[id])) continue;
+
+            if (scope == null || Scopes.isParent(scopes[id], scope)) {
+                scope = (S) scopes[id];
+            }
+        }
+
+        return scope;
+    }
+
+    /// Returns the dense id of the given event, assigned in the order the events were passed to this registry.
+    ///
+    /// @param event the [Class] of the event
+    /// @return the id of the event or `-1` if it isn't registered
+    public int eventId(Class<?> event) {
+        return ids.get(event);
+    }
+
+    /// @param id the [id][#eventId(Class)] of the event
+    /// @return the [priority][Scope#priority()] of the event's scope
+    public int eventPriority(int id) {
+        return priorities[id];
+    }
+
+    /// @return the amount of registered events, all ids are lower than this
+    public int events() {
+        return events.length;
+    }
+
+    /// Assigns the next free ordinal to a property created during runtime.
+    ///
+    /// Prefer [#ordinal(Object)], two properties that are [equal][Object#equals(Object)] must share their ordinal.
+    ///
+    /// @return the assigned ordinal
+    public int nextOrdinal() {
+        return ordinals.getAndIncrement();
+    }
+
+    /// Returns the ordinal of the property identified by the given key, assigning the
+    /// [next free one][#nextOrdinal()] if the key is unknown.
+    ///
+    /// The key must be equal for exactly those properties, that are [equal][Object#equals(Object)] to each other.
+    ///
+    /// @param key the key identifying the property
+    /// @return the ordinal of the property
+    public int ordinal(Object key) {
+        return interned.computeIfAbsent(key, _ -> nextOrdinal());
+    }
+
+    /// Returns the ordinal of the property identified by the given key, registering the
+    /// given ordinal assigned during compile-time if the key is unknown.
+    ///
+    /// @param key the key identifying the property
+    /// @param ordinal the ordinal assigned during compile-time
+    /// @return the ordinal of the property
+    public int ordinal(Object key, int ordinal) {
+        return interned.computeIfAbsent(key, _ -> ordinal);
+    }
+
+    /// @return the amount of ordinals assigned so far
+    public int properties() {
+        return ordinals.get();
+    }
 }
@@ -0,0 +1,25 @@
+package dev.goldmensch.propane.event;
+
+import dev.goldmensch.propane.IntrospectionImplSkeleton;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/// Specifies what happens if an event is [published asynchronously][IntrospectionImplSkeleton#publishAsync(Event)],
+/// but the mailbox of a [Listener] is full, because it can't keep up with the published events.
+///
+/// Each [Listener] has its own mailbox, holding the events that are waiting to be delivered to it.
+/// The capacity of these mailboxes is set by [`IntrospectionImplSkeleton.Builder#backPressure(int, BackPressure)`][IntrospectionImplSkeleton.Builder#backPressure(int, BackPressure)].
+public enum BackPressure {
+    /// The publishing thread waits until the mailbox has space for the event.
+    ///
+    /// If the [Listener] publishes to itself, it would wait for itself. In this case the event is added to its
+    /// mailbox, even though the mailbox is full.
+    BLOCK,
+
+    /// The event isn't delivered to the [Listener], the returned future still completes normally.
+    DROP,
+
+    /// The event isn't delivered to the [Listener], the returned future completes exceptionally
+    /// with a [RejectedExecutionException].
+    FAIL
+}
@@ -0,0 +1,62 @@
+package dev.goldmensch.propane.event;
+
+import dev.goldmensch.propane.IntrospectionImplSkeleton;
+import dev.goldmensch.propane.IntrospectionSkeleton;
+import dev.goldmensch.propane.Scope;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/// A [Listener] that receives all events of its [type][#event()] of a
+/// [batch][IntrospectionImplSkeleton#publishAll(java.util.Collection)] at once.
+///
+/// If the listener is registered for a supertype of events, it receives one batch per concrete event class.
+///
+/// For events published one by one, [#accept(Event, IntrospectionSkeleton)] is called as for any other [Listener].
+/// By default, it passes the event to [#acceptAll(List, IntrospectionSkeleton)] as a batch of one.
+///
+/// @see Listener
+public interface BatchListener<E extends Event<S>, S extends Scope, I extends IntrospectionSkeleton<I, S>> extends Listener<E, S, I> {
+
+    /// Will be called once per published batch, that contains events [matching][#event()] this listener.
+    ///
+    /// The same rules regarding the passed [`Introspection`][IntrospectionSkeleton] and scoped access as for
+    /// [Listener#accept(Event, IntrospectionSkeleton)] apply.
+    ///
+    /// @param events the matching events of the batch, in publishing order
+    /// @param introspection the [`Introspection`][IntrospectionSkeleton] instance used to publish the batch
+    void acceptAll(List<E> events, I introspection);
+
+    @Override
+    default void accept(E event, I introspection) {
+        acceptAll(List.of(event), introspection);
+    }
+
+    /// Creates an [BatchListener] based on the passed [Event] and [BiConsumer] that will be called as [BatchListener#acceptAll(List, IntrospectionSkeleton)].
+    ///
+    /// [#owner()] will be the caller of this method, see [StackWalker#getCallerClass()].
+    ///
+    /// @param event the [Event] that should trigger the [BatchListener] (see [#event()])
+    /// @param acceptor body of [BatchListener#acceptAll(List, IntrospectionSkeleton)]
+    ///
+    /// @return the created [BatchListener] instance
+    static <T extends Event<S>, S extends Scope, I extends IntrospectionSkeleton<I, S>> BatchListener<T, S, I> create(Class<T> event, BiConsumer<List<T>, I> acceptor) {
+        Class<?> owner = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+        return new BatchListener<>() {
+            @Override
+            public void acceptAll(List<T> events, I introspection) {
+                acceptor.accept(events, introspection);
+            }
+
+            @Override
+            public Class<T> event() {
+                return event;
+            }
+
+            @Override
+            public Class<?> owner() {
+                return owner;
+            }
+        };
+    }
+}
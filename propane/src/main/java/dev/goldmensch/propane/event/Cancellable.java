@@ -0,0 +1,30 @@
+package dev.goldmensch.propane.event;
+
+import dev.goldmensch.propane.IntrospectionImplSkeleton;
+
+/// An [Event] implementing [Cancellable] can be cancelled by a [Listener], so that it isn't passed to any further listeners.
+///
+/// The listeners of an event are called in order of their [priority][Listener#priority()], thus cancelling an event
+/// skips all listeners with a lower priority, including the ones registered on parent
+/// [`Introspection`][dev.goldmensch.propane.IntrospectionSkeleton] instances.
+/// This allows cheap, high priority listeners to make expensive ones unnecessary.
+///
+/// Events [published asynchronously][IntrospectionImplSkeleton#publishAsync(Event)] are passed to all listeners
+/// concurrently, there cancellation only affects the listeners that didn't receive the event yet.
+///
+/// Implementations must make [#cancel()] visible to other threads, for example:
+/// ```java
+/// record FooEvent(AtomicBoolean cancelled) implements Event<Scope>, Cancellable {
+///     public void cancel() { cancelled.set(true); }
+///     public boolean isCancelled() { return cancelled.get(); }
+///     ...
+/// }
+/// ```
+public interface Cancellable {
+
+    /// Cancels this event, no further [Listener]s will be called for it.
+    void cancel();
+
+    /// @return whether this event was [cancelled][#cancel()]
+    boolean isCancelled();
+}
@@ -0,0 +1,44 @@
+package dev.goldmensch.propane.event;
+
+import dev.goldmensch.propane.IntrospectionImplSkeleton;
+import dev.goldmensch.propane.event.internal.JfrEventMetrics;
+import dev.goldmensch.propane.internal.Jfr;
+import org.jspecify.annotations.Nullable;
+
+/// [EventMetrics] receive a measurement for each call of a [Listener], when set by
+/// [`IntrospectionImplSkeleton.Builder#eventMetrics(EventMetrics)`][IntrospectionImplSkeleton.Builder#eventMetrics(EventMetrics)].
+///
+/// Implementations are meant to bridge the measurements to some metrics system, which aggregates them to invocation counts,
+/// latency histograms and exception rates, for example per [event class][Listener#event()] and per [owner][Listener#owner()].
+/// They are called on the publishing thread, right after the listener returned, thus they must be cheap and thread safe.
+///
+/// Without [EventMetrics] set, listeners are called without measuring them at all.
+///
+/// @see #jfr()
+@FunctionalInterface
+public interface EventMetrics {
+
+    /// Will be called after a [Listener] was called.
+    ///
+    /// A [BatchListener] is measured once per [batch][BatchListener#acceptAll(java.util.List, dev.goldmensch.propane.IntrospectionSkeleton)].
+    ///
+    /// @param event the class of the published event
+    /// @param owner the [owner][Listener#owner()] of the called listener
+    /// @param nanos the time the listener took, in nanoseconds
+    /// @param failure the exception thrown by the listener or `null` if it returned normally
+    void listenerCalled(Class<?> event, Class<?> owner, long nanos, @Nullable Throwable failure);
+
+    /// Returns [EventMetrics] that commit a JFR event named `dev.goldmensch.propane.ListenerInvocation` per call,
+    /// if that event is enabled in the current recording. The duration of the call is its field `time`.
+    ///
+    /// Requires the module `jdk.jfr`, which is an optional dependency of propane.
+    ///
+    /// @return the [EventMetrics] bridging to JFR
+    static EventMetrics jfr() {
+        if (!Jfr.AVAILABLE) {
+            throw new RuntimeException("JFR isn't available, the module jdk.jfr must be readable by propane");
+        }
+
+        return JfrEventMetrics.INSTANCE;
+    }
+}
@@ -36,9 +36,32 @@ public interface Listener<E extends Event<S>, S extends Scope, I extends Introsp
 
     /// Specifies the event, this Listener should be called for.
     ///
+    /// This may also be a supertype of events, like a sealed interface, in which case the listener is
+    /// called for all events implementing it.
+    ///
     /// @return the [type][Class] of the event
     Class<E> event();
 
+    /// Specifies the owner of this Listener, which is reported to [EventMetrics].
+    ///
+    /// @return the class owning this listener, [#getClass()] by default
+    default Class<?> owner() {
+        return getClass();
+    }
+
+    /// Specifies the priority of this Listener, which is read once when it is subscribed.
+    ///
+    /// Listeners with a higher priority are called first, regardless of the
+    /// [`Introspection`][IntrospectionSkeleton] instance they are registered on.
+    /// Listeners with the same priority are called in the order they were subscribed,
+    /// the ones registered on child instances before the ones of their parents.
+    /// An event implementing [Cancellable] isn't passed to any further listeners after it got cancelled.
+    ///
+    /// @return the priority of this listener, `0` by default
+    default int priority() {
+        return 0;
+    }
+
     /// Creates an [Listener] based on the passed [Event] and [BiConsumer] that will be called as [Listener#accept(Event, IntrospectionSkeleton)].
     ///
     /// This method is intended to be used inline with [IntrospectionSkeleton#subscribe(Listener)]:
@@ -47,11 +70,14 @@ public interface Listener<E extends Event<S>, S extends Scope, I extends Introsp
     /// intro.subscribe(Listener.create(FooEvent.class, (e, _) -> ...));
     /// ```
     ///
+    /// [#owner()] will be the caller of this method, see [StackWalker#getCallerClass()].
+    ///
     /// @param event the [Event] that should trigger the [Listener] (see [#event()])
     /// @param acceptor body of [Listener#accept(Event, IntrospectionSkeleton)]
     ///
     /// @return the created [Listener] instance
     static <T extends Event<S>, S extends Scope, I extends IntrospectionSkeleton<I, S>> Listener<T, S, I> create(Class<T> event, BiConsumer<T, I> acceptor) {
+        Class<?> owner = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
         return new Listener<>() {
             @Override
             public void accept(T event, I introspection) {
@@ -62,6 +88,46 @@ public interface Listener<E extends Event<S>, S extends Scope, I extends Introsp
             public Class<T> event() {
                 return event;
             }
+
+            @Override
+            public Class<?> owner() {
+                return owner;
+            }
+        };
+    }
+
+    /// Creates an [Listener] with the given [priority][#priority()] based on the passed [Event] and [BiConsumer]
+    /// that will be called as [Listener#accept(Event, IntrospectionSkeleton)].
+    ///
+    /// [#owner()] will be the caller of this method, see [StackWalker#getCallerClass()].
+    ///
+    /// @param event the [Event] that should trigger the [Listener] (see [#event()])
+    /// @param priority the [priority][#priority()] of the [Listener]
+    /// @param acceptor body of [Listener#accept(Event, IntrospectionSkeleton)]
+    ///
+    /// @return the created [Listener] instance
+    static <T extends Event<S>, S extends Scope, I extends IntrospectionSkeleton<I, S>> Listener<T, S, I> create(Class<T> event, int priority, BiConsumer<T, I> acceptor) {
+        Class<?> owner = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).getCallerClass();
+        return new Listener<>() {
+            @Override
+            public void accept(T event, I introspection) {
+                acceptor.accept(event, introspection);
+            }
+
+            @Override
+            public Class<T> event() {
+                return event;
+            }
+
+            @Override
+            public Class<?> owner() {
+                return owner;
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
         };
     }
 }
@@ -3,6 +3,7 @@ package dev.goldmensch.propane.event;
 import dev.goldmensch.propane.IntrospectionSkeleton;
 import dev.goldmensch.propane.Scope;
 import dev.goldmensch.propane.event.internal.EventBus;
+import org.jspecify.annotations.Nullable;
 
 /// A [Subscription] is the 'identifier' of a registered [Listener]. It allows
 /// to `unsubscribe` this particular [Listener] from the introspection instance it is registered on.
@@ -11,16 +12,25 @@ import dev.goldmensch.propane.event.internal.EventBus;
 public class Subscription<I extends IntrospectionSkeleton<I, S>, S extends Scope> {
     private final Listener<?, S, I> listener;
     private final EventBus<I, S> eventBus;
+    // run after the listener got removed, e.g. to drop references kept for it
+    private final @Nullable Runnable released;
 
     public Subscription(Listener<?, S, I> listener, EventBus<I, S> eventBus) {
+        this(listener, eventBus, null);
+    }
+
+    public Subscription(Listener<?, S, I> listener, EventBus<I, S> eventBus, @Nullable Runnable released) {
         this.listener = listener;
         this.eventBus = eventBus;
+        this.released = released;
     }
 
-
     /// Unregisters this particular [Listener] from the [`Introspection`][IntrospectionSkeleton] instance
     /// it is registered on.
     public void unsubscribe() {
         eventBus.remove(listener);
+        if (released != null) {
+            released.run();
+        }
     }
 }
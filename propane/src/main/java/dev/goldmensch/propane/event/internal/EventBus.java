@@ -4,28 +4,95 @@ import dev.goldmensch.propane.IntrospectionImplSkeleton;
 import dev.goldmensch.propane.IntrospectionSkeleton;
 import dev.goldmensch.propane.Registry;
 import dev.goldmensch.propane.Scope;
+import dev.goldmensch.propane.event.BackPressure;
+import dev.goldmensch.propane.event.BatchListener;
+import dev.goldmensch.propane.event.Cancellable;
 import dev.goldmensch.propane.event.Event;
+import dev.goldmensch.propane.event.EventMetrics;
 import dev.goldmensch.propane.event.Listener;
 import dev.goldmensch.propane.internal.Scopes;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class EventBus<I extends IntrospectionSkeleton<I, S>, S extends Scope> {
+    private static final Registration[] NONE = new Registration[0];
+    private static final Comparator<Registration> BY_PRIORITY = Comparator.comparingInt((Registration registration) -> registration.priority).reversed();
+
+    // the event class itself first, then all its supertypes implementing Event, each type listeners can be registered for
+    private static final ClassValue<Class<?>[]> TYPES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> types = new LinkedHashSet<>();
+            Deque<Class<?>> queue = new ArrayDeque<>();
+            queue.add(type);
+            while (!queue.isEmpty()) {
+                Class<?> current = queue.poll();
+                if (!Event.class.isAssignableFrom(current) || !types.add(current)) continue;
+
+                if (current.getSuperclass() != null) {
+                    queue.add(current.getSuperclass());
+                }
+                queue.addAll(Arrays.asList(current.getInterfaces()));
+            }
+
+            return types.toArray(Class<?>[]::new);
+        }
+    };
+
     private final Registry<S> registry;
     private final S scope;
+    private final int scopePriority;
     private final @Nullable EventBus<I, S> parent;
-    private final Map<Class<Event<S>>, Collection<Listener<Event<S>, S, I>>> listeners = new ConcurrentHashMap<>();
+    // allocated by the first call to add, most introspection instances don't have listeners
+    //
+    // The arrays are never modified, add and remove atomically replace them with a copy (copy on write).
+    // Thus, publishing can iterate them without locking, while listeners are added or removed concurrently.
+    private volatile @Nullable Map<Class<?>, Registration[]> listeners;
+
+    private final Shared shared;
+
+    // the listeners of this bus and all parents indexed by the event id (see Registry#eventId), allocated by the first publish
+    private volatile Dispatch @Nullable [] dispatchTable;
 
     public EventBus(Registry<S> registry, S scope, @Nullable EventBus<I, S> parent) {
         this.registry = registry;
         this.scope = scope;
+        this.scopePriority = scope.priority();
         this.parent = parent;
+        this.shared = parent != null
+                ? parent.shared
+                : new Shared();
     }
 
-    @SuppressWarnings("unchecked")
-    public void add(Listener<? extends Event<S>, S, I> listener) {
+    // the settings are shared by the whole hierarchy, thus only the bus of the root may configure them
+    public void backPressure(int capacity, BackPressure backPressure) {
+        if (parent != null) {
+            throw new RuntimeException("Back-pressure can only be configured on the builder returned by create(Scope)");
+        }
+
+        if (capacity < 1) {
+            throw new RuntimeException("mailbox capacity must be at least 1");
+        }
+
+        shared.capacity = capacity;
+        shared.backPressure = backPressure;
+    }
+
+    // null disables measuring the listeners
+    public void metrics(@Nullable EventMetrics metrics) {
+        if (parent != null) {
+            throw new RuntimeException("Event metrics can only be configured on the builder returned by create(Scope)");
+        }
+
+        shared.metrics = metrics;
+    }
+
+    // weakly added listeners are removed after they got garbage collected, see Registration
+    public void add(Listener<? extends Event<S>, S, I> listener, boolean weak) {
         Class<? extends Event<S>> event = listener.event();
         S eventScope = registry.scopeForEvent(event);
 
@@ -33,29 +100,343 @@ public class EventBus<I extends IntrospectionSkeleton<I, S>, S extends Scope> {
             throw new RuntimeException("scope of event listener must be child of current scope");
         }
 
-        var list = listeners.computeIfAbsent((Class<Event<S>>) event, _ -> new LinkedList<>());
-        list.add((Listener<Event<S>, S, I>) listener);
+        Registration registration = new Registration(listener, weak);
+        listeners().compute(event, (_, array) -> {
+            if (array == null) {
+                return new Registration[] {registration};
+            }
+
+            // highest priority first, after all listeners with the same priority
+            int index = 0;
+            while (index < array.length && array[index].priority >= registration.priority) {
+                index++;
+            }
+
+            Registration[] newArray = new Registration[array.length + 1];
+            System.arraycopy(array, 0, newArray, 0, index);
+            newArray[index] = registration;
+            System.arraycopy(array, index, newArray, index + 1, array.length - index);
+            return newArray;
+        });
+        shared.version.incrementAndGet();
+    }
+
+    private Map<Class<?>, Registration[]> listeners() {
+        var current = listeners;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (listeners == null) {
+                listeners = new ConcurrentHashMap<>();
+            }
+            return listeners;
+        }
     }
 
     public void remove(Listener<? extends Event<S>, S, I> listener) {
-        listeners.getOrDefault(listener.event(), new ArrayList<>()).remove(listener);
+        var current = listeners;
+        if (current == null) return;
+
+        current.computeIfPresent(listener.event(), (_, array) -> {
+            for (int i = 0; i < array.length; i++) {
+                if (!listener.equals(array[i].listener())) continue;
+                if (array.length == 1) return null;
+
+                Registration[] newArray = new Registration[array.length - 1];
+                System.arraycopy(array, 0, newArray, 0, i);
+                System.arraycopy(array, i + 1, newArray, i, array.length - i - 1);
+                return newArray;
+            }
+
+            return array;
+        });
+        shared.version.incrementAndGet();
     }
 
     public void publish(Event<S> event, I introspection) {
-        if (!Scopes.isSame(event.scope(), scope)) {
-            throw new RuntimeException("event scope must be current scope");
+        checkScope(event);
+
+        scoped(introspection, () -> call(event, introspection));
+    }
+
+    // the events are grouped by their class in order of first occurrence, the scope is checked once per class
+    public void publishAll(Collection<? extends Event<S>> events, I introspection) {
+        Map<Class<?>, List<Event<S>>> batches = new LinkedHashMap<>();
+        for (Event<S> event : events) {
+            List<Event<S>> batch = batches.get(event.getClass());
+            if (batch == null) {
+                checkScope(event);
+                batch = new ArrayList<>();
+                batches.put(event.getClass(), batch);
+            }
+            batch.add(event);
         }
 
-        call(event, introspection);
+        scoped(introspection, () -> batches.forEach((event, batch) -> callAll(event, Collections.unmodifiableList(batch), introspection)));
+    }
+
+    // all listeners are called inside one binding of the introspection, if it isn't bound already
+    private void scoped(I introspection, Runnable runnable) {
+        IntrospectionImplSkeleton<?, ?, ?, ?> impl = (IntrospectionImplSkeleton<?, ?, ?, ?>) introspection;
+        if (impl.isScoped()) {
+            runnable.run();
+        } else {
+            impl.scoped().run(runnable);
+        }
     }
 
+    // each listener receives the events in publishing order on its own virtual thread, see Mailbox
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Void> publishAsync(Event<S> event, I introspection) {
+        checkScope(event);
+
+        Registration[] registrations = dispatch(event.getClass());
+        if (registrations.length == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // ScopedValue bindings aren't inherited by the listener threads, so each one binds the introspection itself
+        IntrospectionImplSkeleton<?, ?, ?, ?> impl = (IntrospectionImplSkeleton<?, ?, ?, ?>) introspection;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[registrations.length];
+        for (int i = 0; i < registrations.length; i++) {
+            Listener<Event<S>, S, I> listener = (Listener<Event<S>, S, I>) registrations[i].listener();
+            if (listener == null) {
+                stale(event.getClass());
+                futures[i] = CompletableFuture.completedFuture(null);
+                continue;
+            }
+
+            futures[i] = registrations[i].mailbox(shared.capacity, shared.backPressure)
+                    .submit(() -> {
+                        if (cancelled(event)) return;
+                        impl.scoped().run(() -> accept(listener, event, introspection));
+                    });
+        }
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    // equals Scopes.isSame(event.scope(), scope), the scope of registered events is looked up by their id
+    private void checkScope(Event<S> event) {
+        int id = registry.eventId(event.getClass());
+        int priority = id != -1
+                ? registry.eventPriority(id)
+                : event.scope().priority();
+
+        if (priority != scopePriority) {
+            throw new RuntimeException("event scope must be current scope");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     private void call(Event<S> event, I introspection) {
-        for (Listener<Event<S>, S, I> listener : listeners.getOrDefault(event.getClass(), List.of())) {
-            ((IntrospectionImplSkeleton<?, ?, ?, ?>) introspection).scoped().run(() -> listener.accept(event, introspection));
+        for (Registration registration : dispatch(event.getClass())) {
+            if (cancelled(event)) return;
+
+            Listener<Event<S>, S, I> listener = (Listener<Event<S>, S, I>) registration.listener();
+            if (listener == null) {
+                stale(event.getClass());
+                continue;
+            }
+
+            accept(listener, event, introspection);
         }
+    }
 
-        if (parent != null) {
-            parent.call(event, introspection);
+    // cancelled events are removed from the batch before the next listener is called
+    @SuppressWarnings("unchecked")
+    private void callAll(Class<?> event, List<Event<S>> batch, I introspection) {
+        boolean cancellable = Cancellable.class.isAssignableFrom(event);
+        for (Registration registration : dispatch(event)) {
+            if (cancellable) {
+                batch = uncancelled(batch);
+                if (batch.isEmpty()) return;
+            }
+
+            Listener<Event<S>, S, I> listener = (Listener<Event<S>, S, I>) registration.listener();
+            if (listener == null) {
+                stale(event);
+                continue;
+            }
+
+            if (listener instanceof BatchListener<?, ?, ?> batchListener) {
+                acceptAll((BatchListener<Event<S>, S, I>) batchListener, event, batch, introspection);
+                continue;
+            }
+
+            for (Event<S> single : batch) {
+                if (cancelled(single)) continue;
+
+                accept(listener, single, introspection);
+            }
+        }
+    }
+
+    // the listener is only measured if EventMetrics are set, otherwise it's called directly
+    private void accept(Listener<Event<S>, S, I> listener, Event<S> event, I introspection) {
+        EventMetrics metrics = shared.metrics;
+        if (metrics == null) {
+            listener.accept(event, introspection);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            listener.accept(event, introspection);
+        } catch (RuntimeException | Error e) {
+            metrics.listenerCalled(event.getClass(), listener.owner(), System.nanoTime() - start, e);
+            throw e;
+        }
+        metrics.listenerCalled(event.getClass(), listener.owner(), System.nanoTime() - start, null);
+    }
+
+    private void acceptAll(BatchListener<Event<S>, S, I> listener, Class<?> event, List<Event<S>> batch, I introspection) {
+        EventMetrics metrics = shared.metrics;
+        if (metrics == null) {
+            listener.acceptAll(batch, introspection);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            listener.acceptAll(batch, introspection);
+        } catch (RuntimeException | Error e) {
+            metrics.listenerCalled(event, listener.owner(), System.nanoTime() - start, e);
+            throw e;
         }
+        metrics.listenerCalled(event, listener.owner(), System.nanoTime() - start, null);
+    }
+
+    // the batch itself if none of its events got cancelled
+    private static <E extends Event<?>> List<E> uncancelled(List<E> batch) {
+        for (E single : batch) {
+            if (!cancelled(single)) continue;
+
+            return batch.stream()
+                    .filter(event -> !cancelled(event))
+                    .toList();
+        }
+
+        return batch;
+    }
+
+    // a weakly referenced listener got garbage collected, only the dispatch array of this bus is collected again,
+    // which purges it. It may be registered on a parent, but the parents and other children refresh their own arrays
+    // once they come across the listener, bumping the shared version would outdate the whole hierarchy
+    private void stale(Class<?> event) {
+        int id = registry.eventId(event);
+        if (id == -1) return;
+
+        long currentVersion = shared.version.get();
+        dispatchTable()[id] = new Dispatch(currentVersion, collect(event));
+    }
+
+    private static boolean cancelled(Event<?> event) {
+        return event instanceof Cancellable cancellable && cancellable.isCancelled();
+    }
+
+    // the version is read before the listeners are collected, so a dispatch array missing a concurrently added
+    // listener is always stored with an outdated version
+    //
+    // Events missing from the registry have no id, thus their listeners are collected on each publish.
+    // Concurrent stores to the table are fine, the Dispatch record is immutable and an outdated one is just collected again.
+    private Registration[] dispatch(Class<?> event) {
+        long currentVersion = shared.version.get();
+
+        int id = registry.eventId(event);
+        if (id == -1) {
+            return collect(event);
+        }
+
+        Dispatch[] table = dispatchTable();
+        Dispatch dispatch = table[id];
+        if (dispatch != null && dispatch.version == currentVersion) {
+            return dispatch.listeners;
+        }
+
+        Registration[] collected = collect(event);
+        table[id] = new Dispatch(currentVersion, collected);
+        return collected;
+    }
+
+    // highest priority first, for the same priority the listeners of this bus first, then the ones of the parents
+    // per bus, the listeners of the event class come first, then the ones of its supertypes (see TYPES)
+    private Registration[] collect(Class<?> event) {
+        Class<?>[] types = TYPES.get(event);
+
+        Registration[] collected = NONE;
+        for (EventBus<I, S> bus = this; bus != null; bus = bus.parent) {
+            var current = bus.listeners;
+            if (current == null) continue;
+
+            for (Class<?> type : types) {
+                Registration[] array = purge(current, type);
+                if (array == null) continue;
+                if (collected.length == 0) {
+                    collected = array;
+                    continue;
+                }
+
+                Registration[] concatenated = Arrays.copyOf(collected, collected.length + array.length);
+                System.arraycopy(array, 0, concatenated, collected.length, array.length);
+                collected = concatenated;
+            }
+        }
+
+        // each array is sorted already (see add), only the concatenation of several ones may be unsorted
+        for (int i = 1; i < collected.length; i++) {
+            if (collected[i - 1].priority >= collected[i].priority) continue;
+
+            // the sort is stable, thus listeners with the same priority keep their order
+            Registration[] sorted = collected.clone();
+            Arrays.sort(sorted, BY_PRIORITY);
+            return sorted;
+        }
+
+        return collected;
+    }
+
+    // removes the registrations of garbage collected listeners
+    private static Registration @Nullable [] purge(Map<Class<?>, Registration[]> listeners, Class<?> type) {
+        Registration[] array = listeners.get(type);
+        if (array == null || Arrays.stream(array).noneMatch(Registration::isStale)) return array;
+
+        return listeners.computeIfPresent(type, (_, current) -> {
+            Registration[] alive = Arrays.stream(current)
+                    .filter(registration -> !registration.isStale())
+                    .toArray(Registration[]::new);
+
+            return alive.length != 0
+                    ? alive
+                    : null;
+        });
+    }
+
+    private Dispatch[] dispatchTable() {
+        var current = dispatchTable;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (dispatchTable == null) {
+                dispatchTable = new Dispatch[registry.events()];
+            }
+            return dispatchTable;
+        }
+    }
+
+    private record Dispatch(long version, Registration[] listeners) {}
+
+    private static final class Shared {
+        // the mailbox settings of asynchronously called listeners, unbounded by default
+        private volatile int capacity = Integer.MAX_VALUE;
+        private volatile BackPressure backPressure = BackPressure.BLOCK;
+
+        // measures each listener call if set
+        private volatile @Nullable EventMetrics metrics;
+
+        // incremented after the listeners of any bus changed, so checking a dispatch array is a single volatile read.
+        // A changed bus outdates the arrays of unrelated buses (e.g. siblings) too, but listeners change rarely
+        // compared to publishing
+        private final AtomicLong version = new AtomicLong();
     }
 }
@@ -0,0 +1,54 @@
+package dev.goldmensch.propane.event.internal;
+
+import dev.goldmensch.propane.event.EventMetrics;
+import jdk.jfr.*;
+import org.jspecify.annotations.Nullable;
+
+// bridges EventMetrics to JFR, see EventMetrics#jfr()
+//
+// The duration measured by the event bus is stored in the field time, the event itself isn't timed.
+// The event is only allocated if it's enabled in any recording. Only loaded if jdk.jfr is available, see Jfr
+public final class JfrEventMetrics implements EventMetrics {
+    public static final JfrEventMetrics INSTANCE = new JfrEventMetrics();
+
+    private static final EventType TYPE = EventType.getEventType(ListenerInvocation.class);
+
+    private JfrEventMetrics() {}
+
+    @Override
+    public void listenerCalled(Class<?> event, Class<?> owner, long nanos, @Nullable Throwable failure) {
+        if (!TYPE.isEnabled()) return;
+
+        ListenerInvocation invocation = new ListenerInvocation();
+        if (!invocation.shouldCommit()) return;
+
+        invocation.eventType = event;
+        invocation.owner = owner;
+        invocation.time = nanos;
+        invocation.failure = failure != null
+                ? failure.getClass().getName()
+                : null;
+        invocation.commit();
+    }
+
+    @Name("dev.goldmensch.propane.ListenerInvocation")
+    @Label("Listener Invocation")
+    @Category({"Propane", "Events"})
+    @Description("A call of an event listener")
+    @StackTrace(false)
+    static final class ListenerInvocation extends jdk.jfr.Event {
+        @Label("Event Type")
+        Class<?> eventType;
+
+        @Label("Owner")
+        Class<?> owner;
+
+        @Label("Time")
+        @Description("The duration of the call")
+        @Timespan(Timespan.NANOSECONDS)
+        long time;
+
+        @Label("Failure")
+        @Nullable String failure;
+    }
+}
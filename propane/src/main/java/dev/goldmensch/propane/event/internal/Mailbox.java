@@ -0,0 +1,91 @@
+package dev.goldmensch.propane.event.internal;
+
+import dev.goldmensch.propane.event.BackPressure;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// delivers the asynchronously published events to one listener in publishing order
+//
+// At most one virtual thread drains the mailbox at a time. It is started by the task that finds the mailbox idle
+// and exits once no task is pending, so idle listeners don't hold a thread.
+//
+// A listener publishing asynchronously to itself runs on the draining thread. Waiting for capacity there would wait
+// for itself, so these events are added exceeding the capacity instead of blocking.
+final class Mailbox {
+    // bound to the mailbox the current thread drains
+    private static final ScopedValue<Mailbox> DRAINING = ScopedValue.newInstance();
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Semaphore capacity;
+    private final BackPressure backPressure;
+
+    Mailbox(int capacity, BackPressure backPressure) {
+        this.capacity = new Semaphore(capacity);
+        this.backPressure = backPressure;
+    }
+
+    CompletableFuture<Void> submit(Runnable task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        boolean reserved = !draining() || backPressure != BackPressure.BLOCK;
+        if (reserved && !reserve(future)) {
+            return future;
+        }
+
+        tasks.add(() -> {
+            try {
+                task.run();
+                future.complete(null);
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            } finally {
+                if (reserved) capacity.release();
+            }
+        });
+
+        if (pending.getAndIncrement() == 0) {
+            Thread.ofVirtual().name("propane-listener").start(this::drain);
+        }
+
+        return future;
+    }
+
+    // returns false if the event won't be delivered, the future is completed accordingly
+    private boolean reserve(CompletableFuture<Void> future) {
+        if (capacity.tryAcquire()) return true;
+
+        switch (backPressure) {
+            case BLOCK -> {
+                try {
+                    capacity.acquire();
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                }
+            }
+            case DROP -> future.complete(null);
+            case FAIL -> future.completeExceptionally(new RejectedExecutionException("mailbox of listener is full"));
+        }
+
+        return false;
+    }
+
+    private boolean draining() {
+        return DRAINING.isBound() && DRAINING.get() == this;
+    }
+
+    private void drain() {
+        ScopedValue.where(DRAINING, this).run(() -> {
+            do {
+                tasks.remove().run();
+            } while (pending.decrementAndGet() != 0);
+        });
+    }
+}
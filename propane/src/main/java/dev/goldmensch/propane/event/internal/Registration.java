@@ -0,0 +1,50 @@
+package dev.goldmensch.propane.event.internal;
+
+import dev.goldmensch.propane.event.BackPressure;
+import dev.goldmensch.propane.event.Listener;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+
+// a listener registered at an event bus, created once per EventBus#add
+//
+// The listener is either referenced strongly or weakly, weak registrations are purged by EventBus#collect
+// after their listener got garbage collected.
+final class Registration {
+    private final @Nullable Listener<?, ?, ?> listener;
+    private final @Nullable WeakReference<Listener<?, ?, ?>> weakListener;
+    // read once, the dispatch arrays are sorted by it
+    final int priority;
+
+    // allocated by the first asynchronous publish, most listeners are only called synchronously
+    private volatile @Nullable Mailbox mailbox;
+
+    Registration(Listener<?, ?, ?> listener, boolean weak) {
+        this.listener = weak ? null : listener;
+        this.weakListener = weak ? new WeakReference<>(listener) : null;
+        this.priority = listener.priority();
+    }
+
+    // null if the listener of a weak registration got garbage collected
+    @Nullable Listener<?, ?, ?> listener() {
+        return weakListener != null
+                ? weakListener.get()
+                : listener;
+    }
+
+    boolean isStale() {
+        return weakListener != null && weakListener.refersTo(null);
+    }
+
+    Mailbox mailbox(int capacity, BackPressure backPressure) {
+        var current = mailbox;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (mailbox == null) {
+                mailbox = new Mailbox(capacity, backPressure);
+            }
+            return mailbox;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package dev.goldmensch.propane.internal;
+
+import dev.goldmensch.propane.Scope;
+import dev.goldmensch.propane.property.CacheStatistics;
+import dev.goldmensch.propane.property.Property;
+import jdk.jfr.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// counts the cache accesses of all resolvers of one hierarchy, per scope and property, see Resolver#recordCacheStatistics()
+//
+// Each resolver looks up the Level of its scope once when it's created, the counters of a property are then found by its ordinal.
+// The counters are LongAdders, so that concurrent reads of the same property don't contend on them.
+// All profilers that are still reachable are reported periodically as JFR events, if enabled in the current recording
+// and JFR is available at all (see Jfr).
+final class CacheProfiler {
+    private static final Set<CacheProfiler> PROFILERS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    private final Map<Scope, Level> levels = new ConcurrentHashMap<>();
+
+    CacheProfiler() {
+        PROFILERS.add(this);
+        if (Jfr.AVAILABLE) {
+            PropertyCacheStatistics.register();
+        }
+    }
+
+    Level level(Scope scope) {
+        return levels.computeIfAbsent(scope, Level::new);
+    }
+
+    List<CacheStatistics> statistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (Level level : levels.values()) {
+            for (Counters counters : level.all) {
+                statistics.add(counters.statistics(level.scope));
+            }
+        }
+
+        return statistics;
+    }
+
+    private static void emit() {
+        List<CacheProfiler> profilers;
+        synchronized (PROFILERS) {
+            profilers = List.copyOf(PROFILERS);
+        }
+
+        for (CacheProfiler profiler : profilers) {
+            for (CacheStatistics statistics : profiler.statistics()) {
+                PropertyCacheStatistics event = new PropertyCacheStatistics();
+                event.property = statistics.property().name();
+                event.scope = statistics.scope().toString();
+                event.hits = statistics.hits();
+                event.misses = statistics.misses();
+                event.computations = statistics.computations();
+                event.computeTime = statistics.nanos();
+                event.inherited = statistics.inherited();
+                event.commit();
+            }
+        }
+    }
+
+    static final class Level {
+        private final Scope scope;
+        private final PropertySlots counters = new PropertySlots(0);
+        // all counters of this level, to report them
+        private final Queue<Counters> all = new ConcurrentLinkedQueue<>();
+
+        private Level(Scope scope) {
+            this.scope = scope;
+        }
+
+        Counters counters(Property<?> property) {
+            Counters existing = (Counters) counters.get(property.ordinal());
+            if (existing != null) return existing;
+
+            Counters created = new Counters(property);
+            Counters stored = (Counters) counters.putIfAbsent(property.ordinal(), created);
+            if (stored == created) {
+                all.add(created);
+            }
+            return stored;
+        }
+    }
+
+    static final class Counters {
+        private final Property<?> property;
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder computations = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder inherited = new LongAdder();
+
+        private Counters(Property<?> property) {
+            this.property = property;
+        }
+
+        private CacheStatistics statistics(Scope scope) {
+            return new CacheStatistics(property, scope, hits.sum(), misses.sum(), computations.sum(), nanos.sum(), inherited.sum());
+        }
+    }
+
+    @Name("dev.goldmensch.propane.PropertyCacheStatistics")
+    @Label("Property Cache Statistics")
+    @Category({"Propane", "Properties"})
+    @Description("Cumulative cache statistics of a property in all introspection instances of a scope")
+    @Period("10 s")
+    @StackTrace(false)
+    static final class PropertyCacheStatistics extends Event {
+        // the periodic event is registered once, when this class is initialized by the first profiler
+        static {
+            FlightRecorder.addPeriodicEvent(PropertyCacheStatistics.class, CacheProfiler::emit);
+        }
+
+        static void register() {}
+
+        @Label("Property")
+        String property;
+
+        @Label("Scope")
+        String scope;
+
+        @Label("Hits")
+        long hits;
+
+        @Label("Misses")
+        long misses;
+
+        @Label("Computations")
+        long computations;
+
+        @Label("Compute Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long computeTime;
+
+        @Label("Inherited")
+        long inherited;
+    }
+}
@@ -0,0 +1,56 @@
+package dev.goldmensch.propane.internal;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+// immutable list of the own values of a resolver followed by the values of its parent, the parent's list is shared and not copied
+//
+// To keep get(int) cheap for deep hierarchies, the list is flattened once more than MAX_DEPTH lists are chained.
+final class ConcatList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int MAX_DEPTH = 8;
+
+    private final List<E> own;
+    private final List<E> parent;
+    private final int depth;
+
+    private ConcatList(List<E> own, List<E> parent, int depth) {
+        this.own = own;
+        this.parent = parent;
+        this.depth = depth;
+    }
+
+    // own must be an immutable list, parent a list previously returned by this method (or another immutable one)
+    static <E> List<E> of(List<E> own, List<E> parent) {
+        if (own.isEmpty()) return parent;
+        if (parent.isEmpty()) return own;
+
+        int depth = parent instanceof ConcatList<E> concat
+                ? concat.depth + 1
+                : 1;
+
+        if (depth > MAX_DEPTH) {
+            Object[] values = new Object[own.size() + parent.size()];
+            int i = 0;
+            for (E value : own) values[i++] = value;
+            for (E value : parent) values[i++] = value;
+
+            return Helpers.castUnsafe(List.of(values));
+        }
+
+        return new ConcatList<>(own, parent, depth);
+    }
+
+    @Override
+    public E get(int index) {
+        int ownSize = own.size();
+        return index < ownSize
+                ? own.get(index)
+                : parent.get(index - ownSize);
+    }
+
+    @Override
+    public int size() {
+        return own.size() + parent.size();
+    }
+}
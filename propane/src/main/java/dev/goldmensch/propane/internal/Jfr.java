@@ -0,0 +1,20 @@
+package dev.goldmensch.propane.internal;
+
+// jdk.jfr is an optional dependency (requires static), thus the classes using it are only loaded after checking AVAILABLE.
+// These are the JFR events of ProviderProfiler and CacheProfiler and JfrEventMetrics
+public final class Jfr {
+    public static final boolean AVAILABLE = available();
+
+    private Jfr() {}
+
+    private static boolean available() {
+        Module self = Jfr.class.getModule();
+        ModuleLayer layer = self.getLayer() != null
+                ? self.getLayer()
+                : ModuleLayer.boot();
+
+        return layer.findModule("jdk.jfr")
+                .map(self::canRead)
+                .orElse(false);
+    }
+}
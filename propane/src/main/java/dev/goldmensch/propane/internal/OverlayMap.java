@@ -0,0 +1,110 @@
+package dev.goldmensch.propane.internal;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.*;
+
+// immutable map of the own entries of a resolver laid over the entries of its parent, own entries take precedence
+//
+// The parent's map is shared and not copied. To keep get(Object) cheap for deep hierarchies, the map is flattened
+// once more than MAX_DEPTH maps are chained.
+final class OverlayMap<K, V> extends AbstractMap<K, V> {
+    private static final int MAX_DEPTH = 8;
+
+    private final Map<K, V> own;
+    private final Map<K, V> parent;
+    private final int depth;
+    private final int size;
+
+    private OverlayMap(Map<K, V> own, Map<K, V> parent, int depth) {
+        this.own = own;
+        this.parent = parent;
+        this.depth = depth;
+
+        int hidden = 0;
+        for (K key : own.keySet()) {
+            if (parent.containsKey(key)) hidden++;
+        }
+        this.size = own.size() + parent.size() - hidden;
+    }
+
+    // own must be an immutable map, parent a map previously returned by this method (or another immutable one)
+    static <K, V> Map<K, V> of(Map<K, V> own, Map<K, V> parent) {
+        if (own.isEmpty()) return parent;
+        if (parent.isEmpty()) return own;
+
+        int depth = parent instanceof OverlayMap<K, V> overlay
+                ? overlay.depth + 1
+                : 1;
+
+        if (depth > MAX_DEPTH) {
+            Map<K, V> flat = new HashMap<>(parent);
+            flat.putAll(own);
+            return Map.copyOf(flat);
+        }
+
+        return new OverlayMap<>(own, parent, depth);
+    }
+
+    @Override
+    public @Nullable V get(Object key) {
+        V value = own.get(key);
+        return value != null
+                ? value
+                : parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return own.containsKey(key) || parent.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<>() {
+                    private final Iterator<Entry<K, V>> ownEntries = own.entrySet().iterator();
+                    private final Iterator<Entry<K, V>> parentEntries = parent.entrySet().iterator();
+                    private @Nullable Entry<K, V> next = advance();
+
+                    // own entries first, then the parent's ones that aren't hidden by an own entry
+                    private @Nullable Entry<K, V> advance() {
+                        if (ownEntries.hasNext()) return ownEntries.next();
+
+                        while (parentEntries.hasNext()) {
+                            Entry<K, V> entry = parentEntries.next();
+                            if (!own.containsKey(entry.getKey())) return entry;
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next != null;
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        if (next == null) throw new NoSuchElementException();
+
+                        Entry<K, V> current = next;
+                        next = advance();
+                        return current;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package dev.goldmensch.propane.internal;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// holds one value per property, indexed by Property#ordinal()
+//
+// Reads are a plain array load. Writes are "put if absent", so once a slot is set it never changes.
+// The array grows if a property with a greater ordinal than expected shows up (e.g. properties created at runtime),
+// while growing each slot of the old array is replaced by MOVED, so that racing readers and writers retry on the new array.
+//
+// The array is allocated on the first write, until then all instances share the same empty one.
+public final class PropertySlots {
+    private static final Object MOVED = new Object();
+    private static final AtomicReferenceArray<Object> EMPTY = new AtomicReferenceArray<>(0);
+
+    private final int capacity;
+    private volatile AtomicReferenceArray<Object> values = EMPTY;
+
+    public PropertySlots(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public @Nullable Object get(int ordinal) {
+        while (true) {
+            AtomicReferenceArray<Object> current = values;
+            if (ordinal >= current.length()) return null;
+
+            Object value = current.get(ordinal);
+            if (value != MOVED) return value;
+
+            Thread.onSpinWait();
+        }
+    }
+
+    // returns the value stored in the slot after this call, either the passed one or the one of a racing thread
+    public Object putIfAbsent(int ordinal, Object value) {
+        while (true) {
+            AtomicReferenceArray<Object> current = values;
+            if (ordinal >= current.length()) {
+                grow(current, Math.max(ordinal + 1, capacity));
+                continue;
+            }
+
+            Object witness = current.compareAndExchange(ordinal, null, value);
+            if (witness == MOVED) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            return witness == null
+                    ? value
+                    : witness;
+        }
+    }
+
+    private synchronized void grow(AtomicReferenceArray<Object> expected, int minCapacity) {
+        if (values != expected) return; // already grown by another thread
+
+        AtomicReferenceArray<Object> grown = new AtomicReferenceArray<>(Math.max(minCapacity, expected.length() * 2));
+        for (int i = 0; i < expected.length(); i++) {
+            grown.set(i, expected.getAndSet(i, MOVED));
+        }
+
+        values = grown;
+    }
+}
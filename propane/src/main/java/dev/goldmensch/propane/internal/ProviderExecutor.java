@@ -6,37 +6,196 @@ import dev.goldmensch.propane.property.PropertyProviderSkeleton;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+// One instance is shared by all introspection instances of a hierarchy, see Resolver#createEmpty(int).
+//
+// Trusted mode:
+// While tracking, the executor records which properties are required by the providers of a property (edges).
+// A property becomes trusted once a tracked provider of it completed and all properties it required are trusted,
+// its height is the length of the longest chain of recorded edges starting at it.
+// The outermost trusted provider binds one frame for itself, all providers called inside run without binding their own frames,
+// they only increase the depth of this frame. Following recorded edges, the depth can never exceed the height of the
+// outermost provider. If it would, or if an untrusted property is required, a new edge appeared: all properties lose their trust
+// and the execution falls back to tracking, starting with the frame of the outermost trusted provider as parent. Because the nesting
+// inside trusted frames is bounded, a cycle always ends up in tracked frames. If providers are still nested untracked
+// inside a trusted frame at that point, the outermost of these frames resolves its property again, this time tracked,
+// so that the reported cycle contains all providers.
 public class ProviderExecutor {
-    private static final ScopedValue<SequencedMap<Property<?>, PropertyProviderSkeleton<?, ?, ?>>> STACK = ScopedValue.newInstance();
+    private static final ScopedValue<Frame> STACK = ScopedValue.newInstance();
+
+    private volatile boolean trusted = false;
+    // records the edges without trusting them, see DependencyGraph
+    private volatile boolean recording = false;
+    private final Map<Property<?>, Set<Property<?>>> edges = new ConcurrentHashMap<>();
+    private final Map<Property<?>, Integer> heights = new ConcurrentHashMap<>();
+
+    // null if providers aren't profiled, see ProviderProfiler
+    private volatile @Nullable ProviderProfiler profiler;
+
+    // null if single-flight is disabled, see SingleFlight
+    private volatile @Nullable SingleFlight singleFlight;
+
+    void trustDependencies() {
+        trusted = true;
+    }
+
+    void recordDependencies() {
+        recording = true;
+    }
+
+    void profileProviders() {
+        profiler = new ProviderProfiler();
+    }
+
+    @Nullable ProviderProfiler profiler() {
+        return profiler;
+    }
+
+    void enableSingleFlight() {
+        singleFlight = new SingleFlight();
+    }
+
+    @Nullable SingleFlight singleFlight() {
+        return singleFlight;
+    }
+
+    // the properties required by the providers of the given one, only known in trusted or recording mode after it was resolved once
+    Set<Property<?>> dependencies(Property<?> property) {
+        return edges.getOrDefault(property, Set.of());
+    }
+
+    // called by Resolver#get for each read, before it's answered by a cache or a parent,
+    // so that edges to properties, whose providers aren't called again, are recorded too
+    void required(Property<?> property) {
+        if (!(trusted || recording) || !STACK.isBound()) return;
+
+        record(STACK.get(), property);
+    }
 
     @Nullable
     <T, I extends IntrospectionSkeleton<I, ?>> T applyProvider(PropertyProviderSkeleton<T, ?, I> provider, I introspection) {
-        SequencedMap<Property<?>, PropertyProviderSkeleton<?, ?, ?>> stack = STACK.isBound()
-                ? new LinkedHashMap<>(STACK.get())
-                : new LinkedHashMap<>();
+        Frame top = STACK.isBound()
+                ? STACK.get()
+                : null;
+
+        ProviderProfiler current = profiler;
+        if (current == null) {
+            return apply(top, provider, introspection);
+        }
 
-        checkCycling(stack, provider);
+        // the amount of providers up the stack, including the ones nested untracked in trusted frames
+        int depth = top != null
+                ? top.level + top.depth + 1
+                : 0;
 
-        stack.putLast(provider.property().generalized(), provider);
-        return ScopedValue.where(STACK, stack)
+        ProviderProfiler.ProviderInvocation invocation = current.begin();
+        long start = System.nanoTime();
+        T value = null;
+        boolean failed = true;
+        try {
+            value = apply(top, provider, introspection);
+            failed = false;
+            return value;
+        } finally {
+            current.record(provider, System.nanoTime() - start, value, failed, depth, invocation);
+        }
+    }
+
+    @Nullable
+    private <T, I extends IntrospectionSkeleton<I, ?>> T apply(@Nullable Frame top, PropertyProviderSkeleton<T, ?, I> provider, I introspection) {
+        Property<?> property = provider.property().generalized();
+
+        if (trusted) {
+            Integer height = heights.get(property);
+            if (top != null && top.owner == Thread.currentThread()) {
+                if (height != null && height < top.height - top.depth) {
+                    top.depth++;
+                    try {
+                        return provider.supplier().apply(introspection);
+                    } finally {
+                        top.depth--;
+                    }
+                }
+
+                heights.clear();
+            } else if (height != null) {
+                checkCycling(top, provider);
+
+                Frame frame = new Frame(provider, property, top, Thread.currentThread(), height);
+                try {
+                    return ScopedValue.where(STACK, frame)
+                            .call(() -> provider.supplier().apply(introspection));
+                } catch (UntrackedCycle cycle) {
+                    if (cycle.frame != frame) throw cycle;
+                    // the trust is already lost, resolve again tracked below to report the whole cycle
+                }
+            }
+        }
+
+        checkCycling(top, provider);
+
+        T value = ScopedValue.where(STACK, new Frame(provider, property, top, null, 0))
                 .call(() -> provider.supplier().apply(introspection));
+
+        if (trusted) {
+            trust(property);
+        }
+        return value;
     }
 
-    private void checkCycling(SequencedMap<Property<?>, PropertyProviderSkeleton<?, ?, ?>> stack, PropertyProviderSkeleton<?, ?, ?> current) {
+    // only edges whose requiring property is known for sure are recorded, not the ones made by providers nested in trusted frames
+    private void record(@Nullable Frame top, Property<?> property) {
+        if (!(trusted || recording) || top == null || top.depth != 0) return;
+
+        Set<Property<?>> required = edges.computeIfAbsent(top.property, _ -> ConcurrentHashMap.newKeySet());
+        if (!required.contains(property)) {
+            required.add(property);
+        }
+    }
+
+    private void trust(Property<?> property) {
+        int height = 0;
+        for (Property<?> required : edges.getOrDefault(property, Set.of())) {
+            Integer requiredHeight = heights.get(required);
+            if (requiredHeight == null) return;
+
+            height = Math.max(height, requiredHeight + 1);
+        }
+
+        heights.put(property, height);
+    }
+
+    private void checkCycling(@Nullable Frame top, PropertyProviderSkeleton<?, ?, ?> current) {
         Property<?> property = current.property().generalized();
-        if (stack.containsKey(property)) {
-            SequencedCollection<PropertyProviderSkeleton<?, ?, ?>> callchain = stack.sequencedValues();
+        for (Frame frame = top; frame != null; frame = frame.parent) {
+            if (frame.property.equals(property)) {
+                // a trusted frame with nested providers didn't call itself directly
+                if (frame == top && top.depth == 0) {
+                    throw new RuntimeException("cycling: call it self");
+                }
 
-            if (callchain.getLast().property().equals(property)) {
-                throw new RuntimeException("cycling: call it self");
+                String tree = formatTree(top.callchain(), current);
+                Frame untracked = outermostUntracked(top);
+                if (untracked != null) {
+                    throw new UntrackedCycle(untracked, "cycling: cycling tree: " + tree);
+                }
+                throw new RuntimeException("cycling: cycling tree: " + tree);
             }
+        }
+    }
 
-            String tree = formatTree(callchain, current);
-            throw new RuntimeException("cycling: cycling tree: " + tree);
+    // the outermost trusted frame that has providers nested untracked inside, these are missing in its callchain
+    private @Nullable Frame outermostUntracked(Frame top) {
+        Frame untracked = null;
+        for (Frame frame = top; frame != null; frame = frame.parent) {
+            if (frame.depth != 0) {
+                untracked = frame;
+            }
         }
+        return untracked;
     }
 
     private String formatTree(SequencedCollection<PropertyProviderSkeleton<?, ?, ?>> stack, PropertyProviderSkeleton<?, ?, ?> current) {
@@ -68,4 +227,49 @@ public class ProviderExecutor {
         }
         return String.join(System.lineSeparator(), lines);
     }
+
+    // unwinds to the given trusted frame, that then resolves its property again tracked.
+    // Its message is the incomplete report, in case it escapes to someone waiting for the resolution (see SingleFlight)
+    private static final class UntrackedCycle extends RuntimeException {
+        private final Frame frame;
+
+        private UntrackedCycle(Frame frame, String message) {
+            super(message, null, false, false);
+            this.frame = frame;
+        }
+    }
+
+    // the frames are shared between nested provider calls, so entering a provider only allocates one frame
+    private static final class Frame {
+        private final PropertyProviderSkeleton<?, ?, ?> provider;
+        private final Property<?> property;
+        private final @Nullable Frame parent;
+        // the amount of parent frames
+        private final int level;
+
+        // only set for trusted frames, the depth is only accessed by the owning thread
+        private final @Nullable Thread owner;
+        private final int height;
+        private int depth = 0;
+
+        private Frame(PropertyProviderSkeleton<?, ?, ?> provider, Property<?> property, @Nullable Frame parent, @Nullable Thread owner, int height) {
+            this.provider = provider;
+            this.property = property;
+            this.parent = parent;
+            this.level = parent != null
+                    ? parent.level + 1
+                    : 0;
+            this.owner = owner;
+            this.height = height;
+        }
+
+        // only used to report cycles, oldest provider first
+        private SequencedCollection<PropertyProviderSkeleton<?, ?, ?>> callchain() {
+            Deque<PropertyProviderSkeleton<?, ?, ?>> chain = new ArrayDeque<>();
+            for (Frame frame = this; frame != null; frame = frame.parent) {
+                chain.addFirst(frame.provider);
+            }
+            return chain;
+        }
+    }
 }
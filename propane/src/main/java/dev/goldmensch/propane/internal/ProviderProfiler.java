@@ -0,0 +1,156 @@
+package dev.goldmensch.propane.internal;
+
+import dev.goldmensch.propane.property.Property;
+import dev.goldmensch.propane.property.PropertyProviderSkeleton;
+import dev.goldmensch.propane.property.ProviderStatistics;
+import jdk.jfr.*;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// measures each provider call, see ProviderExecutor#profileProviders()
+//
+// The counters are LongAdders per property and owner, so that concurrently called providers don't contend on them.
+// The counters of a property are found by its ordinal, the statistics per owner are summed up when requested.
+// The JFR event is only allocated if it's enabled in any recording, and only used if JFR is available at all (see Jfr).
+final class ProviderProfiler {
+    // a map from owner to counters per property ordinal
+    private final PropertySlots counters = new PropertySlots(0);
+    // all counters, to sum them up
+    private final Queue<Counters> all = new ConcurrentLinkedQueue<>();
+
+    // begins the JFR event before the provider is called, null if it isn't enabled
+    @Nullable ProviderInvocation begin() {
+        if (!Jfr.AVAILABLE || !ProviderInvocation.TYPE.isEnabled()) return null;
+
+        ProviderInvocation invocation = new ProviderInvocation();
+        invocation.begin();
+        return invocation;
+    }
+
+    void record(PropertyProviderSkeleton<?, ?, ?> provider, long nanos, @Nullable Object value, boolean failed, int depth, @Nullable ProviderInvocation invocation) {
+        Counters current = counters(provider);
+        current.invocations.increment();
+        current.nanos.add(nanos);
+        if (failed) {
+            current.failures.increment();
+        } else if (value == null) {
+            current.nullResults.increment();
+        }
+
+        if (invocation == null) return;
+
+        invocation.end();
+        if (!invocation.shouldCommit()) return;
+
+        invocation.property = provider.property().generalized().name();
+        invocation.scope = provider.property().generalized().scope().toString();
+        invocation.owner = provider.owner();
+        invocation.priority = provider.priority().ordinal();
+        invocation.nullResult = !failed && value == null;
+        invocation.failed = failed;
+        invocation.depth = depth;
+        invocation.commit();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Counters counters(PropertyProviderSkeleton<?, ?, ?> provider) {
+        Property<?> property = provider.property().generalized();
+        Map<Class<?>, Counters> owners = (Map<Class<?>, Counters>) counters.get(property.ordinal());
+        if (owners == null) {
+            owners = (Map<Class<?>, Counters>) counters.putIfAbsent(property.ordinal(), new ConcurrentHashMap<Class<?>, Counters>());
+        }
+
+        Counters existing = owners.get(provider.owner());
+        if (existing != null) return existing;
+
+        Counters created = new Counters(provider.owner());
+        Counters stored = owners.putIfAbsent(provider.owner(), created);
+        if (stored != null) return stored;
+
+        all.add(created);
+        return created;
+    }
+
+    // summed up over all properties
+    Map<Class<?>, ProviderStatistics> statistics() {
+        Map<Class<?>, ProviderStatistics> statistics = new HashMap<>();
+        for (Counters current : all) {
+            statistics.merge(current.owner, current.statistics(), ProviderProfiler::sum);
+        }
+
+        return Map.copyOf(statistics);
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<Class<?>, ProviderStatistics> statistics(Property<?> property) {
+        Map<Class<?>, Counters> owners = (Map<Class<?>, Counters>) counters.get(property.ordinal());
+        if (owners == null) return Map.of();
+
+        Map<Class<?>, ProviderStatistics> statistics = new HashMap<>();
+        owners.forEach((owner, current) -> statistics.put(owner, current.statistics()));
+        return Map.copyOf(statistics);
+    }
+
+    private static ProviderStatistics sum(ProviderStatistics first, ProviderStatistics second) {
+        return new ProviderStatistics(
+                first.invocations() + second.invocations(),
+                first.nanos() + second.nanos(),
+                first.nullResults() + second.nullResults(),
+                first.failures() + second.failures()
+        );
+    }
+
+    private static final class Counters {
+        private final Class<?> owner;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder nullResults = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        private Counters(Class<?> owner) {
+            this.owner = owner;
+        }
+
+        private ProviderStatistics statistics() {
+            return new ProviderStatistics(invocations.sum(), nanos.sum(), nullResults.sum(), failures.sum());
+        }
+    }
+
+    // the duration is the one of the provider call, see #begin()
+    @Name("dev.goldmensch.propane.ProviderInvocation")
+    @Label("Provider Invocation")
+    @Category({"Propane", "Properties"})
+    @Description("A call of a property provider")
+    @StackTrace(false)
+    static final class ProviderInvocation extends Event {
+        private static final EventType TYPE = EventType.getEventType(ProviderInvocation.class);
+
+        @Label("Property")
+        String property;
+
+        @Label("Scope")
+        String scope;
+
+        @Label("Owner")
+        Class<?> owner;
+
+        @Label("Priority")
+        int priority;
+
+        @Label("Null Result")
+        boolean nullResult;
+
+        @Label("Failed")
+        boolean failed;
+
+        @Label("Nesting Depth")
+        @Description("The amount of providers this one was called by")
+        int depth;
+    }
+}
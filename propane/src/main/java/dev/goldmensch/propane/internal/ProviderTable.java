@@ -0,0 +1,51 @@
+package dev.goldmensch.propane.internal;
+
+import dev.goldmensch.propane.property.Property;
+import dev.goldmensch.propane.property.PropertyProviderSkeleton;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// immutable table of the providers registered at one introspection instance, indexed by Property#ordinal()
+//
+// The providers of each property are already sorted by priority (highest first, newest first for the same priority),
+// see Properties#add(PropertyProviderSkeleton). The rows are never modified after the table is created.
+public final class ProviderTable {
+    private static final PropertyProviderSkeleton<?, ?, ?>[] NONE = new PropertyProviderSkeleton<?, ?, ?>[0];
+
+    private final PropertyProviderSkeleton<?, ?, ?>[][] rows;
+
+    private ProviderTable(PropertyProviderSkeleton<?, ?, ?>[][] rows) {
+        this.rows = rows;
+    }
+
+    // rows may contain null for properties without providers, the array must not be modified afterward.
+    // There is no shared empty table, each child has at least the provider of the introspection property itself
+    public static ProviderTable of(PropertyProviderSkeleton<?, ?, ?>[][] rows) {
+        return new ProviderTable(rows);
+    }
+
+    public boolean has(int ordinal) {
+        return ordinal < rows.length && rows[ordinal] != null;
+    }
+
+    // never null, an empty array if there are no providers for the property
+    public PropertyProviderSkeleton<?, ?, ?>[] get(int ordinal) {
+        if (ordinal >= rows.length) return NONE;
+
+        PropertyProviderSkeleton<?, ?, ?>[] row = rows[ordinal];
+        return row != null
+                ? row
+                : NONE;
+    }
+
+    // the properties having at least one provider
+    public List<Property<?>> properties() {
+        List<Property<?>> properties = new ArrayList<>();
+        for (PropertyProviderSkeleton<?, ?, ?>[] row : rows) {
+            if (row != null) properties.add(row[0].property().generalized());
+        }
+
+        return properties;
+    }
+}
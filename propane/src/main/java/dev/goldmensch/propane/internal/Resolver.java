@@ -1,5 +1,6 @@
 package dev.goldmensch.propane.internal;
 
+import dev.goldmensch.propane.DependencyGraph;
 import dev.goldmensch.propane.IntrospectionSkeleton;
 import dev.goldmensch.propane.internal.exposed.Properties;
 import dev.goldmensch.propane.property.*;
@@ -7,135 +8,359 @@ import dev.goldmensch.propane.property.PropertyProviderSkeleton;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
-import java.util.stream.Stream;
 
 public class Resolver<INTROSPECTION extends IntrospectionSkeleton<INTROSPECTION, ?>> {
-    private static final ProviderExecutor executor = new ProviderExecutor();
+    // bound by the threads of a warm-up if single-flight is disabled, see #warmUp(Executor)
+    private static final ScopedValue<SingleFlight> WARM_UP = ScopedValue.newInstance();
 
     private final @Nullable INTROSPECTION introspection;
     private final @Nullable Resolver<INTROSPECTION> parent;
-    private final ConcurrentHashMap<Property<?>, Object> cache = new ConcurrentHashMap<>();
-    private final Map<Property<?>, List<PropertyProviderSkeleton<?, ?, INTROSPECTION>>> providers;
+    private final ProviderExecutor executor;
+    private final int capacity;
+    private final PropertySlots cache;
+    private final ProviderTable providers;
 
-    // if introspection and parent == null -> EMPTY resolver, get() -> always Optional.empty()
-    private Resolver(@Nullable INTROSPECTION introspection, @Nullable Resolver<INTROSPECTION> parent, Properties<INTROSPECTION> properties) {
+    // owners of the providers that contributed to each cached value, null if provenance isn't recorded
+    private @Nullable PropertySlots owners;
+
+    // shared by the whole hierarchy, null if cache statistics aren't recorded
+    private @Nullable CacheProfiler cacheProfiler;
+    // the counters of this resolver's scope, looked up once
+    private final CacheProfiler.@Nullable Level statistics;
+
+    // the running computations per ordinal, allocated by the first cold read in single-flight mode
+    private volatile @Nullable Map<Integer, SingleFlight.Flight> flights;
+
+    // if introspection and parent == null -> EMPTY resolver, get() -> always null
+    private Resolver(@Nullable INTROSPECTION introspection, @Nullable Resolver<INTROSPECTION> parent, ProviderExecutor executor, Properties<INTROSPECTION> properties, int capacity) {
         this.introspection = introspection;
         this.parent = parent;
-        this.providers = copy(properties.providers());
+        this.executor = executor;
+        this.capacity = capacity;
+        this.cache = new PropertySlots(capacity);
+        this.providers = properties.table();
+        this.owners = parent != null && parent.owners != null
+                ? new PropertySlots(capacity)
+                : null;
+        this.cacheProfiler = parent != null
+                ? parent.cacheProfiler
+                : null;
+        this.statistics = cacheProfiler != null && introspection != null
+                ? cacheProfiler.level(introspection.scope())
+                : null;
     }
 
-    private Map<Property<?>, List<PropertyProviderSkeleton<?, ?, INTROSPECTION>>> copy(Map<Property<?>, List<PropertyProviderSkeleton<?, ?, INTROSPECTION>>> oldMap) {
-        Map<Property<?>, List<PropertyProviderSkeleton<?, ?, INTROSPECTION>>> newMap = new HashMap<>();
-        oldMap.forEach((property, providers) -> {
-            List<PropertyProviderSkeleton<?, ?, INTROSPECTION>> list = providers.stream()
-                    .sorted(Comparator.comparing(PropertyProviderSkeleton::priority))
-                    .toList();
+    // capacity -> expected amount of properties, see Registry#properties()
+    public static <INTROSPECTION extends IntrospectionSkeleton<INTROSPECTION, ?>> Resolver<INTROSPECTION> createEmpty(int capacity) {
+        return new Resolver<INTROSPECTION>(null, null, new ProviderExecutor(), new Properties<>(ScopeStub.INSTANCE), capacity);
+    }
 
-            newMap.put(property, list);
-        });
+    public Resolver<INTROSPECTION> createChild(Properties<INTROSPECTION> additional, INTROSPECTION child) {
+        return new Resolver<>(child, this, executor, additional, capacity);
+    }
+
+    // the executor is shared by the whole hierarchy, thus only the empty resolver of the root may configure it
+    public void trustDependencies() {
+        if (this.introspection != null || this.parent != null) {
+            throw new RuntimeException("Trusted dependencies can only be enabled on the builder returned by create(Scope)");
+        }
+
+        executor.trustDependencies();
+    }
 
-        return Collections.unmodifiableMap(newMap);
+    // the executor is shared by the whole hierarchy, thus only the empty resolver of the root may configure it
+    public void singleFlight() {
+        if (this.introspection != null || this.parent != null) {
+            throw new RuntimeException("Single-flight can only be enabled on the builder returned by create(Scope)");
+        }
+
+        executor.enableSingleFlight();
     }
 
-    public static <INTROSPECTION extends IntrospectionSkeleton<INTROSPECTION, ?>> Resolver<INTROSPECTION> createEmpty() {
-        return new Resolver<INTROSPECTION>(null, null, new Properties<>(ScopeStub.INSTANCE));
+    // children created afterward record the owners of the providers contributing to their values, see #provenance(Property)
+    public void recordProvenance() {
+        if (this.introspection != null || this.parent != null) {
+            throw new RuntimeException("Provenance can only be recorded if enabled on the builder returned by create(Scope)");
+        }
+
+        this.owners = new PropertySlots(0);
     }
 
-    public Resolver<INTROSPECTION> createChild(Properties<INTROSPECTION> additional, INTROSPECTION child) {
-        return new Resolver<>(child, this, additional);
+    // returns null if no value is present, no Optional to keep the warm path allocation free
+    public <T> @Nullable T get(Property<T> property) {
+        return get(property, statistics);
     }
 
+    // reads counts the cache accesses. Parents reading on behalf of a child get null,
+    // so that each read is only counted once, by the resolver of the queried introspection
     @SuppressWarnings("unchecked")
-    public <T> Optional<T> get(Property<T> property) {
-        if (this.introspection == null && this.parent == null) return Optional.empty();
+    private <T> @Nullable T get(Property<T> property, CacheProfiler.@Nullable Level reads) {
+        if (this.introspection == null && this.parent == null) return null;
+
+        executor.required(property);
+
+        // without own providers the value is the one of the parent, it's cached there and not again in this resolver,
+        // so that short living children don't allocate their cache only to hold copies of their parent's values.
+        // Only multi values of the topmost resolver have to be computed, because the empty resolver returns null for them
+        if (!providers.has(property.ordinal())) {
+            T inherited = parent.get(property, null);
+            if (inherited != null || property instanceof SingletonPropertySkeleton<T>) {
+                if (reads != null) reads.counters(property).inherited.increment();
+                return inherited;
+            }
+        }
 
-        T existing = (T) cache.get(property);
+        T existing = (T) cache.get(property.ordinal());
         if (existing != null) {
-            return Optional.of(existing);
+            if (reads != null) reads.counters(property).hits.increment();
+            return existing;
+        }
+
+        if (reads != null) reads.counters(property).misses.increment();
+
+        SingleFlight singleFlight = executor.singleFlight();
+        if (singleFlight == null) {
+            if (!WARM_UP.isBound()) return computeCounted(property);
+
+            singleFlight = WARM_UP.get();
         }
 
-        Optional<T> computed = compute(property);
+        // another thread may have completed its flight since the cache was read
+        return singleFlight.compute(flights(), property.ordinal(), () -> {
+            T cached = (T) cache.get(property.ordinal());
+            return cached != null
+                    ? cached
+                    : computeCounted(property);
+        });
+    }
+
+    private <T> @Nullable T computeCounted(Property<T> property) {
+        if (statistics == null) return compute(property);
+
+        CacheProfiler.Counters counters = statistics.counters(property);
+        long start = System.nanoTime();
+        try {
+            return compute(property);
+        } finally {
+            counters.computations.increment();
+            counters.nanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private Map<Integer, SingleFlight.Flight> flights() {
+        var current = flights;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (flights == null) {
+                flights = new ConcurrentHashMap<>();
+            }
+            return flights;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> @Nullable T compute(Property<T> property) {
+        PropertyProviderSkeleton<T, ?, INTROSPECTION>[] currentProviders = Helpers.castUnsafe(providers.get(property.ordinal()));
+
+        // owners are only collected if provenance is recorded
+        List<Class<?>> owners = this.owners != null
+                ? new ArrayList<>()
+                : null;
+
         return switch (property) {
-            case SingletonPropertySkeleton<T> _ -> computed
-                    .or(() -> parent.get(property))
-                    .flatMap(t -> putInCache(property, t));
+            case SingletonPropertySkeleton<T> _ -> {
+                T value = handleOne(currentProviders, owners);
+                if (value == null) {
+                    value = parent.get(property, null);
+                    if (value == null) yield null;
+
+                    inheritOwners(owners, property);
+                }
+
+                yield putInCache(property, value, owners);
+            }
 
             case MappingPropertySkeleton<?, ?> mapP -> {
-                Map<Object, Object> computedMap = ((Optional<Map<Object, Object>>) computed).orElseThrow(); // handleMany never returns optional empty
+                Map<Object, Object> computedMap = handleMany(this.<Map<?, ?>>castProvider(currentProviders), new HashMap<>(), Map::putAll, owners);
 
-                parent.get(mapP)
-                        .ifPresent(t -> t.forEach(computedMap::putIfAbsent));
+                // the parent's map is shared, not copied
+                Map<Object, Object> parentMap = (Map<Object, Object>) parent.get(mapP, null);
+                if (parentMap == null) {
+                    yield putInCache(mapP, (T) Map.copyOf(computedMap), owners);
+                }
 
-                yield putInCache(mapP, (T) Map.copyOf(computedMap));
+                inheritOwners(owners, mapP);
+                yield putInCache(mapP, (T) OverlayMap.of(Map.copyOf(computedMap), parentMap), owners);
             }
 
             case EnumerationPropertySkeleton<?> colP -> {
-                Collection<Object> computedList = ((Optional<Collection<Object>>) computed).orElseThrow(); // handleMany never returns optional empty
+                Collection<Object> computedList = handleMany(this.<Collection<?>>castProvider(currentProviders), new ArrayList<>(), Collection::addAll, owners);
 
-                parent.get(colP)
-                        .ifPresent(computedList::addAll);
+                // the parent's list is shared, not copied
+                List<Object> parentList = (List<Object>) parent.get(colP, null);
+                if (parentList == null) {
+                    yield putInCache(colP, (T) List.copyOf(computedList), owners);
+                }
 
-                yield putInCache(colP, (T) List.copyOf(computedList));
+                inheritOwners(owners, colP);
+                yield putInCache(colP, (T) ConcatList.of(List.copyOf(computedList), parentList), owners);
             }
         };
     }
 
+    // the executor is shared by the whole hierarchy, thus only the empty resolver of the root may configure it
+    public void profileProviders() {
+        if (this.introspection != null || this.parent != null) {
+            throw new RuntimeException("Providers can only be profiled if enabled on the builder returned by create(Scope)");
+        }
+
+        executor.profileProviders();
+    }
+
+    // the statistics of the whole hierarchy, requires providers to be profiled, see #profileProviders()
+    public Map<Class<?>, ProviderStatistics> providerStatistics() {
+        ProviderProfiler profiler = executor.profiler();
+        if (profiler == null) {
+            throw new RuntimeException("Providers aren't profiled, it can be enabled on the builder returned by create(Scope)");
+        }
+
+        return profiler.statistics();
+    }
+
+    // the statistics of the providers of the given property, requires providers to be profiled, see #profileProviders()
+    public Map<Class<?>, ProviderStatistics> providerStatistics(Property<?> property) {
+        ProviderProfiler profiler = executor.profiler();
+        if (profiler == null) {
+            throw new RuntimeException("Providers aren't profiled, it can be enabled on the builder returned by create(Scope)");
+        }
+
+        return profiler.statistics(property);
+    }
+
+    // children created afterward count their cache accesses, see CacheProfiler
+    public void recordCacheStatistics() {
+        if (this.introspection != null || this.parent != null) {
+            throw new RuntimeException("Cache statistics can only be recorded if enabled on the builder returned by create(Scope)");
+        }
+
+        this.cacheProfiler = new CacheProfiler();
+    }
+
+    // the statistics of the whole hierarchy, requires them to be recorded, see #recordCacheStatistics()
+    public List<CacheStatistics> cacheStatistics() {
+        if (cacheProfiler == null) {
+            throw new RuntimeException("Cache statistics aren't recorded, it can be enabled on the builder returned by create(Scope)");
+        }
+
+        return cacheProfiler.statistics();
+    }
+
+    // the executor is shared by the whole hierarchy, thus only the empty resolver of the root may configure it
+    public void recordDependencies() {
+        if (this.introspection != null || this.parent != null) {
+            throw new RuntimeException("Dependencies can only be recorded if enabled on the builder returned by create(Scope)");
+        }
+
+        executor.recordDependencies();
+    }
+
+    // the properties with providers registered on this resolver or any parent, parents' properties last
+    public DependencyGraph dependencyGraph() {
+        Set<Property<?>> properties = new LinkedHashSet<>();
+        for (Resolver<INTROSPECTION> resolver = this; resolver != null; resolver = resolver.parent) {
+            properties.addAll(resolver.providers.properties());
+        }
+
+        return new DependencyGraph(properties, executor::dependencies);
+    }
+
+    // Resolves all properties with own providers on the given executor, following the plan of their DependencyGraph:
+    // each layer is resolved in parallel after the previous one completed.
+    // Unknown dependencies are resolved on demand by the provider requiring them, thus two threads could resolve
+    // such a dependency at the same time. Without single-flight, the warm-up threads bind their own SingleFlight (see WARM_UP),
+    // so that they don't call the providers twice. Threads not taking part in the warm-up aren't affected by it.
+    public CompletableFuture<Void> warmUp(Executor executor) {
+        CompletableFuture<Void> warmUp = CompletableFuture.completedFuture(null);
+        if (this.introspection == null && this.parent == null) return warmUp;
+
+        // a cycle ends up in the last layer, it's reported by resolving the properties
+        List<List<Property<?>>> plan = new DependencyGraph(providers.properties(), this.executor::dependencies).plan();
+        SingleFlight singleFlight = this.executor.singleFlight() == null
+                ? new SingleFlight()
+                : null;
+
+        for (List<Property<?>> layer : plan) {
+            warmUp = warmUp.thenCompose(_ -> CompletableFuture.allOf(layer.stream()
+                    .map(property -> CompletableFuture.runAsync(() -> warmUp(property, singleFlight), executor))
+                    .toArray(CompletableFuture<?>[]::new)));
+        }
+
+        return warmUp;
+    }
+
+    private void warmUp(Property<?> property, @Nullable SingleFlight singleFlight) {
+        if (singleFlight == null) {
+            get(property);
+        } else {
+            ScopedValue.where(WARM_UP, singleFlight).run(() -> get(property));
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    private <T> Optional<T> putInCache(Property<?> property, T computed) {
-        T raced = (T) cache.putIfAbsent(property, computed);
-        T val = Objects.requireNonNullElse(raced, computed);
-        return Optional.of(val);
+    private <T> T putInCache(Property<?> property, T computed, @Nullable List<Class<?>> owners) {
+        if (owners != null) {
+            this.owners.putIfAbsent(property.ordinal(), List.copyOf(owners));
+        }
+
+        return (T) cache.putIfAbsent(property.ordinal(), computed);
     }
 
+    private void inheritOwners(@Nullable List<Class<?>> owners, Property<?> property) {
+        if (owners != null) {
+            owners.addAll(parent.provenance(property));
+        }
+    }
+
+    // returns the owners of all providers that contributed to the value of the given property, the ones of this resolver first
+    // requires provenance to be recorded, see #recordProvenance()
     @SuppressWarnings("unchecked")
-    private  <T> Optional<T> compute(Property<T> property) {
-        List<PropertyProviderSkeleton<T, ?, INTROSPECTION>> currentProviders = Helpers.castUnsafe(providers.getOrDefault(property, List.of()));
-
-        Result<T> result = switch (property) {
-            case SingletonPropertySkeleton<T> _ -> handleOne(currentProviders);
-            case EnumerationPropertySkeleton<?> _ -> (Result<T>) handleMany(
-                    this.<Collection<Object>>castProvider(currentProviders),
-                    new ArrayList<>(),
-                    List::addAll
-            );
-
-            case MappingPropertySkeleton<?, ?> _ -> (Result<T>) handleMany(
-                    this.<Map<?, ?>>castProvider(currentProviders),
-                    new HashMap<>(),
-                    Map::putAll
-            );
-        };
+    public List<Class<?>> provenance(Property<?> property) {
+        if (this.introspection == null && this.parent == null) return List.of();
 
-        if (result == null) {
-            return Optional.empty();
+        if (owners == null) {
+            throw new RuntimeException("Provenance isn't recorded, it can be enabled on the builder returned by create(Scope)");
         }
 
-        return Optional.of(result.value);
+        if (get(property, null) == null) return List.of();
 
+        List<Class<?>> recorded = (List<Class<?>>) owners.get(property.ordinal());
+        return recorded != null
+                ? recorded
+                : parent.provenance(property);
     }
 
-    private <T> List<PropertyProviderSkeleton<T, ?, INTROSPECTION>> castProvider(List<?> providers) {
+    private <T> PropertyProviderSkeleton<T, ?, INTROSPECTION>[] castProvider(PropertyProviderSkeleton<?, ?, INTROSPECTION>[] providers) {
         return Helpers.castUnsafe(providers);
     }
 
-    @Nullable
-    private <T> Result<T> handleOne(Collection<PropertyProviderSkeleton<T, ?, INTROSPECTION>> providers) {
-        return providers.stream()
-                .flatMap(provider -> {
-                    T obj = executor.applyProvider(provider, introspection);
+    private <T> @Nullable T handleOne(PropertyProviderSkeleton<T, ?, INTROSPECTION>[] providers, @Nullable List<Class<?>> owners) {
+        for (PropertyProviderSkeleton<T, ?, INTROSPECTION> provider : providers) {
+            T value = executor.applyProvider(provider, introspection);
+            if (value != null) {
+                if (owners != null) owners.add(provider.owner());
+                return value;
+            }
+        }
 
-                    return Stream.ofNullable(obj)
-                            .map(t -> new Result<>(t, List.of(provider.owner())));
-                })
-                .findFirst()
-                .orElse(null);
+        return null;
     }
 
-    private <T, B extends T> Result<T> handleMany(Collection<PropertyProviderSkeleton<T, ?, INTROSPECTION>> providers, B collection, BiConsumer<B, T> adder) {
-        Collection<Class<?>> owners = new ArrayList<>();
-
+    private <T, B> B handleMany(PropertyProviderSkeleton<T, ?, INTROSPECTION>[] providers, B collection, BiConsumer<B, T> adder, @Nullable List<Class<?>> owners) {
         for (PropertyProviderSkeleton<T, ?, INTROSPECTION> provider : providers) {
             if (shouldSkip(providers, provider)) {
                 continue;
@@ -144,19 +369,17 @@ public class Resolver<INTROSPECTION extends IntrospectionSkeleton<INTROSPECTION,
             T applied = executor.applyProvider(provider, introspection);
             if (applied == null) continue;
             adder.accept(collection, applied);
-            owners.add(provider.owner());
+            if (owners != null) owners.add(provider.owner());
         }
 
-        return new Result<>(collection, owners);
+        return collection;
     }
 
     // if there are more than 1 provider, check if we should accumulate fallback values
-    private <T> boolean shouldSkip(Collection<PropertyProviderSkeleton<T, ?, INTROSPECTION>> providers, PropertyProviderSkeleton<T, ?, INTROSPECTION> provider) {
-        return providers.size() > 1
+    private <T> boolean shouldSkip(PropertyProviderSkeleton<T, ?, INTROSPECTION>[] providers, PropertyProviderSkeleton<T, ?, INTROSPECTION> provider) {
+        return providers.length > 1
                 && provider.priority() == Priority.FALLBACK
                 && ((Property.MultiValue<T>) provider.property().generalized()).fallbackStrategy() == Property.FallbackStrategy.IGNORE;
     }
 
-
-    private record Result<T>(T value, Collection<Class<?>> owners) {}
 }
@@ -0,0 +1,79 @@
+package dev.goldmensch.propane.internal;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Lets only one thread compute a cold value, while other threads reading it concurrently wait for the result.
+// One instance is shared by all introspection instances of a hierarchy, see ProviderExecutor#singleFlight().
+//
+// Waiting threads park on a CompletableFuture, no monitors are held, thus virtual threads don't pin their carrier.
+//
+// Deadlocks:
+// If a thread would wait for a flight, whose owner (transitively) waits for a flight owned by this thread, waiting would deadlock.
+// In that case the thread computes the value itself instead. This happens if the providers of two properties require each other,
+// then the thread computing on its own reaches its own flight again and the cycle is reported by ProviderExecutor as usual.
+// Each thread registers what it waits for before checking for a deadlock, so out of two racing threads, at least one sees the other.
+final class SingleFlight {
+    private final Map<Thread, Flight> waiting = new ConcurrentHashMap<>();
+
+    // flights holds the running flights of one resolver, indexed by the ordinal of the property
+    @SuppressWarnings("unchecked")
+    <T> @Nullable T compute(Map<Integer, Flight> flights, int ordinal, Supplier<@Nullable T> computation) {
+        Flight flight = new Flight();
+        Flight running = flights.putIfAbsent(ordinal, flight);
+        if (running == null) {
+            try {
+                T value = computation.get();
+                flight.result.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                flight.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                flights.remove(ordinal, flight);
+            }
+        }
+
+        // the same thread requires the value it is computing, this is a cycle that ProviderExecutor reports
+        Thread current = Thread.currentThread();
+        if (running.owner == current) {
+            return computation.get();
+        }
+
+        waiting.put(current, running);
+        try {
+            if (wouldDeadlock(running, current)) {
+                return computation.get();
+            }
+
+            return (T) running.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        } finally {
+            waiting.remove(current);
+        }
+    }
+
+    private boolean wouldDeadlock(Flight running, Thread current) {
+        // bounded, a chain of waiting threads not containing the current one ends or is detected by one of its members
+        Flight next = running;
+        for (int i = 0; next != null && i <= waiting.size(); i++) {
+            if (next.owner == current) return true;
+            next = waiting.get(next.owner);
+        }
+
+        return false;
+    }
+
+    static final class Flight {
+        private final Thread owner = Thread.currentThread();
+        private final CompletableFuture<@Nullable Object> result = new CompletableFuture<>();
+    }
+}
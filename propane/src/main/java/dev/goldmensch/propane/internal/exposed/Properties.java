@@ -2,16 +2,19 @@ package dev.goldmensch.propane.internal.exposed;
 
 import dev.goldmensch.propane.IntrospectionSkeleton;
 import dev.goldmensch.propane.Scope;
+import dev.goldmensch.propane.internal.ProviderTable;
 import dev.goldmensch.propane.internal.Scopes;
 import dev.goldmensch.propane.property.Priority;
 import dev.goldmensch.propane.property.Property;
 import dev.goldmensch.propane.property.PropertyProviderSkeleton;
+import org.jspecify.annotations.Nullable;
 
-import java.util.*;
+import java.util.Arrays;
 
 public class Properties<INTROSPECTION extends IntrospectionSkeleton<INTROSPECTION, ?>> {
     private final Scope scope;
-    private final Map<Property<?>, List<PropertyProviderSkeleton<?, ?, INTROSPECTION>>> providers = new HashMap<>();
+    // indexed by Property#ordinal(), each row is sorted by priority
+    private PropertyProviderSkeleton<?, ?, ?>[][] providers = new PropertyProviderSkeleton<?, ?, ?>[0][];
 
     public Properties(Scope scope) {
         this.scope = scope;
@@ -52,15 +55,34 @@ public class Properties<INTROSPECTION extends IntrospectionSkeleton<INTROSPECTIO
     public void add(PropertyProviderSkeleton<?, ?, INTROSPECTION> provider) {
         validate(provider);
 
-        list(provider.property().generalized()).addFirst(provider);
+        int ordinal = provider.property().generalized().ordinal();
+        if (ordinal >= providers.length) {
+            providers = Arrays.copyOf(providers, ordinal + 1);
+        }
+
+        providers[ordinal] = insert(providers[ordinal], provider);
     }
 
-    private List<PropertyProviderSkeleton<?, ?, INTROSPECTION>> list(Property<?> property) {
-        return providers.computeIfAbsent(property, _ -> new LinkedList<>());
+    // keeps the row sorted by priority (highest first), newer providers are placed before older ones with the same priority
+    private PropertyProviderSkeleton<?, ?, ?>[] insert(PropertyProviderSkeleton<?, ?, ?> @Nullable [] row, PropertyProviderSkeleton<?, ?, ?> provider) {
+        if (row == null) {
+            return new PropertyProviderSkeleton<?, ?, ?>[] {provider};
+        }
+
+        int index = 0;
+        while (index < row.length && row[index].priority().compareTo(provider.priority()) < 0) {
+            index++;
+        }
+
+        PropertyProviderSkeleton<?, ?, ?>[] newRow = new PropertyProviderSkeleton<?, ?, ?>[row.length + 1];
+        System.arraycopy(row, 0, newRow, 0, index);
+        newRow[index] = provider;
+        System.arraycopy(row, index, newRow, index + 1, row.length - index);
+        return newRow;
     }
 
-    // exposes the providers
-    public Map<Property<?>, List<PropertyProviderSkeleton<?, ?, INTROSPECTION>>> providers() {
-        return providers;
+    // rows are copied on insert, so the table stays unaffected by providers added afterward
+    public ProviderTable table() {
+        return ProviderTable.of(providers.clone());
     }
 }
@@ -0,0 +1,24 @@
+package dev.goldmensch.propane.property;
+
+import dev.goldmensch.propane.IntrospectionImplSkeleton;
+import dev.goldmensch.propane.Scope;
+
+/// Cumulative cache statistics of one [Property] in all introspection instances of one [Scope], collected if enabled by
+/// [`IntrospectionImplSkeleton.Builder#recordCacheStatistics()`][IntrospectionImplSkeleton.Builder#recordCacheStatistics()].
+///
+/// A property that is computed in many instances of a short living scope, but always from the same inputs, is a candidate
+/// for a provider in a parent scope, where it's computed once.
+///
+/// Each read is counted once, by the introspection instance it was made on. Reads that parent instances make on behalf
+/// of a child aren't counted again, but computations are counted by the instance computing the value.
+///
+/// @param property the property
+/// @param scope the [Scope] of the introspection instances reading the property
+/// @param hits the amount of reads returning a cached value
+/// @param misses the amount of reads, that had to compute the value or wait for another thread computing it
+/// @param computations the amount of computations of the value, including the calls of its providers
+/// @param nanos the total time of all computations, in nanoseconds
+/// @param inherited the amount of reads returning the value of the parent, because there are no own providers
+///
+/// @see IntrospectionImplSkeleton#cacheStatistics()
+public record CacheStatistics(Property<?> property, Scope scope, long hits, long misses, long computations, long nanos, long inherited) {}
@@ -16,24 +16,35 @@ import java.util.Objects;
 /// @see SpecificProperty why you have to use the "specific" version of this class
 @Skeleton
 public non-sealed abstract class EnumerationPropertySkeleton<T> implements Property.MultiValue<Collection<T>> {
+    private final int ordinal;
     private final String name;
     private final Source source;
     private final Scope scope;
     private final Class<T> type;
     private final FallbackStrategy fallbackStrategy;
+    private final int hash;
 
+    /// @param ordinal the [ordinal][Property#ordinal()] of this property
     /// @param name the [name][Property#name()] of this property
     /// @param source the [source][Property#source()] of this property
     /// @param scope the [scope][Property#scope()] of this property
     /// @param type the [type][EnumerationPropertySkeleton#type()] of this property
     /// @param fallbackStrategy the [fallback strategy][Property.MultiValue#fallbackStrategy()] of this property
-    public EnumerationPropertySkeleton(String name, Source source, Scope scope, Class<T> type,
+    public EnumerationPropertySkeleton(int ordinal, String name, Source source, Scope scope, Class<T> type,
                                        FallbackStrategy fallbackStrategy) {
+        this.ordinal = ordinal;
         this.name = name;
         this.source = source;
         this.scope = scope;
         this.type = type;
         this.fallbackStrategy = fallbackStrategy;
+        this.hash = Objects.hash(name, source, scope, type, fallbackStrategy);
+    }
+
+    /// {@inheritDoc}
+    @Override
+    public int ordinal() {
+        return ordinal;
     }
 
     /// {@inheritDoc}
@@ -81,7 +92,7 @@ public non-sealed abstract class EnumerationPropertySkeleton<T> implements Prope
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, source, scope, type, fallbackStrategy);
+        return hash;
     }
 
     @Override
@@ -42,29 +42,40 @@ import java.util.Objects;
 /// @see SpecificProperty why you have to use the "specific" version of this class
 @Skeleton
 public non-sealed abstract class MappingPropertySkeleton<K, V> implements Property.MultiValue<Map<K, V>> {
+    private final int ordinal;
     private final String name;
     private final Source source;
     private final Scope scope;
     private final Class<K> keyType;
     private final Class<V> valueType;
     private final FallbackStrategy fallbackStrategy;
+    private final int hash;
 
 
+    /// @param ordinal the [ordinal][Property#ordinal()] of this property
     /// @param name the [name][Property#name()] of this property
     /// @param source the [source][Property#source()] of this property
     /// @param scope the [scope][Property#scope()] of this property
     /// @param keyType the [key's java type][MappingPropertySkeleton#keyType()] of this property
     /// @param valueType the [value's java type][MappingPropertySkeleton#valueType()] of this property
     /// @param fallbackStrategy the [fallback strategy][Property.MultiValue#fallbackStrategy()] of this property
-    public MappingPropertySkeleton(String name, Source source, Scope scope, Class<K> keyType,
+    public MappingPropertySkeleton(int ordinal, String name, Source source, Scope scope, Class<K> keyType,
                                    Class<V> valueType,
                                    FallbackStrategy fallbackStrategy) {
+        this.ordinal = ordinal;
         this.name = name;
         this.source = source;
         this.scope = scope;
         this.keyType = keyType;
         this.valueType = valueType;
         this.fallbackStrategy = fallbackStrategy;
+        this.hash = Objects.hash(name, source, scope, keyType, valueType, fallbackStrategy);
+    }
+
+    /// {@inheritDoc}
+    @Override
+    public int ordinal() {
+        return ordinal;
     }
 
     /// {@inheritDoc}
@@ -120,7 +131,7 @@ public non-sealed abstract class MappingPropertySkeleton<K, V> implements Proper
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, source, scope, keyType, valueType, fallbackStrategy);
+        return hash;
     }
 
     @Override
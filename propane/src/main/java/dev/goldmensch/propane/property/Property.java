@@ -2,6 +2,7 @@ package dev.goldmensch.propane.property;
 
 import dev.goldmensch.propane.IntrospectionImplSkeleton;
 import dev.goldmensch.propane.IntrospectionSkeleton;
+import dev.goldmensch.propane.Registry;
 import dev.goldmensch.propane.Scope;
 
 import java.util.Collection;
@@ -56,6 +57,15 @@ public sealed interface Property<T> {
     /// @return the properties source
     Source source();
 
+    /// The ordinal of this property, a dense index unique among all properties of one library.
+    ///
+    /// Properties declared in the library's specification get their ordinals assigned at compile-time,
+    /// all others are assigned during runtime. Properties that are [equal][Object#equals(Object)] always share their ordinal,
+    /// see [Registry#ordinal(Object)]. It is used to store the values of properties in arrays instead of maps.
+    ///
+    /// @return the properties ordinal
+    int ordinal();
+
     /// The source of a property defines "where" an [`PropertyProvider`][PropertyProviderSkeleton] for this property
     /// can be "registered". Each source imposes certain restrictions on the priority of its [`PropertyProvider`][PropertyProviderSkeleton]s.
     enum Source {
@@ -0,0 +1,18 @@
+package dev.goldmensch.propane.property;
+
+import dev.goldmensch.propane.IntrospectionImplSkeleton;
+
+/// Cumulative statistics of all [`PropertyProviders`][PropertyProviderSkeleton] with the same [owner][PropertyProviderSkeleton#owner()],
+/// either of all properties or of one property, collected if enabled by
+/// [`IntrospectionImplSkeleton.Builder#profileProviders()`][IntrospectionImplSkeleton.Builder#profileProviders()].
+///
+/// The time of a provider includes the time of all providers called by it, that is the time to resolve the properties it requires.
+///
+/// @param invocations the amount of provider calls
+/// @param nanos the total time of all provider calls, in nanoseconds
+/// @param nullResults the amount of provider calls that returned `null`
+/// @param failures the amount of provider calls that threw an exception
+///
+/// @see IntrospectionImplSkeleton#providerStatistics()
+/// @see IntrospectionImplSkeleton#providerStatistics(SpecificProperty)
+public record ProviderStatistics(long invocations, long nanos, long nullResults, long failures) {}
@@ -36,21 +36,32 @@ import java.util.Objects;
 /// @see SpecificProperty why you have to use the "specific" version of this class
 @Skeleton
 public non-sealed abstract class SingletonPropertySkeleton<T> implements Property.SingleValue<T> {
+    private final int ordinal;
     private final String name;
     private final Source source;
     private final Scope scope;
     private final Class<T> type;
+    private final int hash;
 
+    /// @param ordinal the [ordinal][Property#ordinal()] of this property
     /// @param name the [name][Property#name() ] of this property
     /// @param scope the [scope][Property#scope()] of this property
     /// @param source the [source][Property#source()] of this property
     /// @param type the [type][SingletonPropertySkeleton#type()] of this property
-    public SingletonPropertySkeleton(String name, Source source, Scope scope,
+    public SingletonPropertySkeleton(int ordinal, String name, Source source, Scope scope,
                                      Class<T> type) {
+        this.ordinal = ordinal;
         this.name = name;
         this.source = source;
         this.scope = scope;
         this.type = type;
+        this.hash = Objects.hash(name, source, scope, type);
+    }
+
+    /// {@inheritDoc}
+    @Override
+    public int ordinal() {
+        return ordinal;
     }
 
     /// {@inheritDoc}
@@ -91,7 +102,7 @@ public non-sealed abstract class SingletonPropertySkeleton<T> implements Propert
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, source, scope, type);
+        return hash;
     }
 
     @Override
@@ -22,10 +22,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.PropertyMeta> {
 
     private static final TypeVariableName T = TypeVariableName.get("T");
+    private static final int INTROSPECTION_ORDINAL = 0;
 
     public PropertyGenerator(PackageElement packageName, Filer filer) {
         super(packageName, filer);
@@ -200,6 +202,12 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
                         .returns(ScopedValue.Carrier.class)
                         .addStatement("return $T.where(INTROSPECTION, this)", ScopedValue.class)
                         .build())
+                .addMethod(MethodSpec.methodBuilder("isScoped")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(boolean.class)
+                        .addStatement("return INTROSPECTION.isBound() && INTROSPECTION.get() == this")
+                        .build())
                 .addType(TypeSpec.classBuilder(builderName)
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                         .superclass(parentIntrospection.nestedClass("Builder"))
@@ -278,8 +286,8 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
                         ParameterizedTypeName.get(specificName, introspectionName),
                         "INTROSPECTION",
                         Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-                .initializer("new $T<>($S, $T.PROVIDED, $T.$L, $T.class)",
-                        singletonClassName, "INTROSPECTION",
+                .initializer("new $T<>($L, $S, $T.PROVIDED, $T.$L, $T.class)",
+                        singletonClassName, INTROSPECTION_ORDINAL, "INTROSPECTION",
                         Property.Source.class,
                         scopeName, meta.spec.scopes()[0], // first scope is always highest priority -> Enum.ordinal
                         introspectionName)
@@ -295,14 +303,20 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
         return builder.build();
     }
 
+    // ordinal 0 is reserved for INTROSPECTION, see INTROSPECTION_ORDINAL
+    private int ordinal(SpecProperty property) {
+        return meta.properties().indexOf(property) + 1;
+    }
+
     private FieldSpec toField(SpecProperty property) {
+        int ordinal = ordinal(property);
         return switch (property) {
             case SpecSingleton(String name, Property.Source source, String scope, TypeElement type, var _) -> {
                 ParameterizedTypeName fieldType = ParameterizedTypeName.get(specificName, ClassName.get(type));
 
                 yield FieldSpec.builder(fieldType, name, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-                        .initializer("new $T<>($S, $T.$L, $T.$L, $T.class)",
-                                singletonClassName, name,
+                        .initializer("new $T<>($L, $S, $T.$L, $T.$L, $T.class)",
+                                singletonClassName, ordinal, name,
                                 Property.Source.class, source,
                                 scopeName, scope,
                                 type)
@@ -318,8 +332,8 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
                 ParameterizedTypeName fieldType = ParameterizedTypeName.get(specificName, ParameterizedTypeName.get(ClassName.get(Collection.class), ClassName.get(type)));
 
                 yield FieldSpec.builder(fieldType, name, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-                        .initializer("new $T<>($S, $T.$L, $T.$L, $T.class, $T.$L)",
-                                enumerationClassName, name,
+                        .initializer("new $T<>($L, $S, $T.$L, $T.$L, $T.class, $T.$L)",
+                                enumerationClassName, ordinal, name,
                                 Property.Source.class, source,
                                 scopeName, scope,
                                 type,
@@ -335,8 +349,8 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
                 ParameterizedTypeName fieldType = ParameterizedTypeName.get(specificName, ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(keyType), ClassName.get(valueType)));
 
                 yield FieldSpec.builder(fieldType, name, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
-                        .initializer("new $T<>($S, $T.$L, $T.$L, $T.class, $T.class, $T.$L)",
-                                mappingClassName, name,
+                        .initializer("new $T<>($L, $S, $T.$L, $T.$L, $T.class, $T.class, $T.$L)",
+                                mappingClassName, ordinal, name,
                                 Property.Source.class, source,
                                 scopeName, scope,
                                 keyType,
@@ -353,11 +367,9 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
                 .addTypeVariable(TypeVariableName.get("T"))
                 .superclass(withTGeneric(ClassName.get(SingletonPropertySkeleton.class)))
                 .addSuperinterface(withTGeneric(specificName))
-                .addMethod(propertySuperConstructor()
-                        .addModifiers(Modifier.PUBLIC)
-                        .addParameter(withTGeneric(ClassName.get(Class.class)), "type")
-                        .addStatement("super(name, source, scope, type)")
-                        .build())
+                .addMethods(propertyConstructors(singletonClassName, builder -> builder
+                        .addParameter(withTGeneric(ClassName.get(Class.class)), "type"),
+                        "type"))
                 .addMethod(getScoped(T))
                 .build();
     }
@@ -369,12 +381,10 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
                 .addTypeVariable(TypeVariableName.get("T"))
                 .superclass(withTGeneric(ClassName.get(EnumerationPropertySkeleton.class)))
                 .addSuperinterface(ParameterizedTypeName.get(specificName, collectionType))
-                .addMethod(propertySuperConstructor()
-                        .addModifiers(Modifier.PUBLIC)
+                .addMethods(propertyConstructors(enumerationClassName, builder -> builder
                         .addParameter(withTGeneric(ClassName.get(Class.class)), "type")
-                        .addParameter(Property.FallbackStrategy.class, "fallback")
-                        .addStatement("super(name, source, scope, type, fallback)")
-                        .build())
+                        .addParameter(Property.FallbackStrategy.class, "fallback"),
+                        "type, fallback"))
                 .addMethod(getScoped(collectionType))
                 .build();
     }
@@ -390,20 +400,19 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
                 .addTypeVariables(List.of(typeVariables))
                 .superclass(ParameterizedTypeName.get(ClassName.get(MappingPropertySkeleton.class), typeVariables))
                 .addSuperinterface(ParameterizedTypeName.get(specificName, mapTypeName))
-                .addMethod(propertySuperConstructor()
-                        .addModifiers(Modifier.PUBLIC)
+                .addMethods(propertyConstructors(mappingClassName, builder -> builder
                         .addParameter(withGeneric(ClassName.get(Class.class), "K"), "keyType")
                         .addParameter(withGeneric(ClassName.get(Class.class), "V"), "valueType")
-                        .addParameter(Property.FallbackStrategy.class, "fallback")
-                        .addStatement("super(name, source, scope, keyType, valueType, fallback)")
-                        .build())
+                        .addParameter(Property.FallbackStrategy.class, "fallback"),
+                        "keyType, valueType, fallback"))
                 .addMethod(getScoped(mapTypeName))
                 .build();
     }
 
     private TypeSpec registry() {
+        // a list instead of a map, the index of each entry is the dense id of the event
         CodeBlock.Builder eventsInit = CodeBlock.builder();
-        eventsInit.add("$T.ofEntries(", Map.class);
+        eventsInit.add("$T.of(", List.class);
         for (SpecEvent event : meta.events) {
             eventsInit.add("$T.entry($T.class, $T.$L)", Map.class, event.event(), scopeName, event.scope());
 
@@ -415,14 +424,13 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
 
         ParameterizedTypeName eventClassName = ParameterizedTypeName.get(ClassName.get(Class.class),
                 WildcardTypeName.subtypeOf(ParameterizedTypeName.get(ClassName.get(Event.class), scopeName)));
-        ParameterizedTypeName eventScopeMapName = ParameterizedTypeName.get(ClassName.get(Map.class),
-                eventClassName,
-                scopeName);
+        ParameterizedTypeName eventScopeMapName = ParameterizedTypeName.get(ClassName.get(List.class),
+                ParameterizedTypeName.get(ClassName.get(Map.Entry.class), eventClassName, scopeName));
         return TypeSpec.classBuilder(registryName)
                 .addModifiers(Modifier.FINAL)
                 .superclass(ParameterizedTypeName.get(ClassName.get(Registry.class), scopeName))
                 .addMethod(MethodSpec.constructorBuilder()
-                        .addStatement("super(eventScopes)")
+                        .addStatement("super(eventScopes, $L)", meta.properties().size() + 1) // + INTROSPECTION
                         .build())
                 .addField(FieldSpec.builder(eventScopeMapName, "eventScopes", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
                         .initializer(eventsInit.build())
@@ -454,10 +462,33 @@ public class PropertyGenerator extends AbstractGenerator<PropertyGenerator.Prope
         return withGeneric(typeName, "T");
     }
 
+    // one constructor taking the ordinal assigned at compile-time (used by the generated property fields)
+    // and one for properties created at runtime, which takes the next free ordinal from the registry.
+    // Both intern the ordinal by the same fields equals() compares, so that equal properties share their ordinal
+    private List<MethodSpec> propertyConstructors(ClassName className, UnaryOperator<MethodSpec.Builder> parameters, String arguments) {
+        String key = "$T.asList($T.class, name, source, scope, $L)";
+        MethodSpec compileTime = parameters.apply(propertySuperConstructor()
+                        .addParameter(int.class, "ordinal")
+                        .addParameter(String.class, "name")
+                        .addParameter(Property.Source.class, "source")
+                        .addParameter(scopeName, "scope"))
+                .addStatement("super($T.INSTANCE.ordinal(" + key + ", ordinal), name, source, scope, $L)",
+                        registryName, Arrays.class, className, arguments, arguments)
+                .build();
+
+        MethodSpec runtime = parameters.apply(propertySuperConstructor()
+                        .addParameter(String.class, "name")
+                        .addParameter(Property.Source.class, "source")
+                        .addParameter(scopeName, "scope"))
+                .addStatement("super($T.INSTANCE.ordinal(" + key + "), name, source, scope, $L)",
+                        registryName, Arrays.class, className, arguments, arguments)
+                .build();
+
+        return List.of(compileTime, runtime);
+    }
+
     private MethodSpec.Builder propertySuperConstructor() {
         return MethodSpec.constructorBuilder()
-                .addParameter(String.class, "name")
-                .addParameter(Property.Source.class, "source")
-                .addParameter(scopeName, "scope");
+                .addModifiers(Modifier.PUBLIC);
     }
 }
@@ -4,6 +4,7 @@ import org.jspecify.annotations.NullMarked;
 module dev.goldmensch.propane {
     requires static com.palantir.javapoet;
     requires static org.jspecify;
+    requires static jdk.jfr;
 
     requires java.compiler;
 
@@ -0,0 +1,100 @@
+package logic;
+
+import dev.goldmensch.propane.Scope;
+import dev.goldmensch.propane.property.CacheStatistics;
+import dev.goldmensch.propane.property.Priority;
+import dev.goldmensch.propane.property.Property;
+import dev.goldmensch.propane.property.SpecificProperty;
+import logic.impl.*;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CacheStatisticsTest {
+
+    private enum Scopes implements Scope {
+        ROOT,
+        CHILD;
+
+        @Override
+        public int priority() {
+            return ordinal();
+        }
+    }
+
+    private static class Properties {
+        static TestProperty<String> HELLO_WORLD = new TestSingletonProperty<>("HELLO_WORLD", Property.Source.PROVIDED, Scopes.ROOT, String.class);
+        static TestProperty<Collection<String>> NAMES = new TestEnumerationProperty<>("NAMES", Property.Source.PROVIDED, Scopes.ROOT, String.class, Property.FallbackStrategy.COMBINE);
+    }
+
+    @Test
+    public void cache_statistics() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT)
+                .recordCacheStatistics()
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, CacheStatisticsTest.class, _ -> "Hello World"))
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            TestIntrospectionImpl child = root.createChild(Scopes.CHILD)
+                    .add(new TestPropertyProvider<>(Properties.NAMES, Priority.FALLBACK, CacheStatisticsTest.class, _ -> List.of("child")))
+                    .build();
+
+            for (int j = 0; j < 2; j++) {
+                assertEquals("Hello World", child.get(Properties.HELLO_WORLD));
+                assertEquals(List.of("child"), child.get(Properties.NAMES));
+            }
+        }
+
+        // the children inherit HELLO_WORLD, it's computed once by the root.
+        // The root reads on behalf of the children, these reads are only counted by the children
+        CacheStatistics rootHello = find(root.cacheStatistics(), Properties.HELLO_WORLD, Scopes.ROOT);
+        assertEquals(0, rootHello.hits());
+        assertEquals(0, rootHello.misses());
+        assertEquals(1, rootHello.computations());
+        assertTrue(rootHello.nanos() > 0);
+        assertEquals(4, find(root.cacheStatistics(), Properties.HELLO_WORLD, Scopes.CHILD).inherited());
+
+        // each child computes NAMES on its own
+        CacheStatistics childNames = find(root.cacheStatistics(), Properties.NAMES, Scopes.CHILD);
+        assertEquals(2, childNames.hits());
+        assertEquals(2, childNames.misses());
+        assertEquals(2, childNames.computations());
+        assertEquals(0, childNames.inherited());
+    }
+
+    @Test
+    public void cache_statistics_read_on_root() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT)
+                .recordCacheStatistics()
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, CacheStatisticsTest.class, _ -> "Hello World"))
+                .build();
+        TestIntrospectionImpl child = root.createChild(Scopes.CHILD).build();
+
+        assertEquals("Hello World", child.get(Properties.HELLO_WORLD));
+        assertEquals("Hello World", root.get(Properties.HELLO_WORLD));
+
+        // one read per introspection, each counted once
+        CacheStatistics rootHello = find(root.cacheStatistics(), Properties.HELLO_WORLD, Scopes.ROOT);
+        assertEquals(1, rootHello.hits());
+        assertEquals(0, rootHello.misses());
+        assertEquals(1, find(root.cacheStatistics(), Properties.HELLO_WORLD, Scopes.CHILD).inherited());
+    }
+
+    @Test
+    public void cache_statistics_not_recorded() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT).build();
+
+        assertThrows(RuntimeException.class, root::cacheStatistics);
+        assertThrows(RuntimeException.class, () -> root.createChild(Scopes.CHILD).recordCacheStatistics());
+    }
+
+    private static CacheStatistics find(List<CacheStatistics> statistics, SpecificProperty<?> property, Scope scope) {
+        return statistics.stream()
+                .filter(entry -> entry.property() == property.generalized() && entry.scope() == scope)
+                .findFirst()
+                .orElseThrow();
+    }
+}
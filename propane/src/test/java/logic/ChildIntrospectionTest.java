@@ -65,6 +65,17 @@ public class ChildIntrospectionTest {
     }
 
 
+    @Test
+    public void multi_values_inherited_without_own_providers() {
+        TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.COLLECTION, Priority.FALLBACK, ChildIntrospectionTest.class, _ -> List.of(new Properties.TestStub())))
+                .build();
+
+        TestIntrospectionImpl child = parent.createChild(Scopes.ROOT).build();
+        Assert.assertSame(parent.get(Properties.COLLECTION), child.get(Properties.COLLECTION)); // no own providers -> parents value is used directly
+        Assert.assertTrue(child.get(Properties.MAP).isEmpty()); // no providers at all -> still empty
+    }
+
     @Test
     public void child_values_not_in_parent() {
         TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.ROOT)
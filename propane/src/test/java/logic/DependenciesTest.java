@@ -1,8 +1,12 @@
 package logic;
 
+import dev.goldmensch.propane.DependencyGraph;
 import dev.goldmensch.propane.Scope;
 import dev.goldmensch.propane.property.Priority;
 import dev.goldmensch.propane.property.Property;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import logic.impl.TestIntrospectionImpl;
 import logic.impl.TestProperty;
 import logic.impl.TestPropertyProvider;
@@ -10,6 +14,13 @@ import logic.impl.TestSingletonProperty;
 import org.junit.Test;
 import org.junit.function.ThrowingRunnable;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.Assert.*;
 
 public class DependenciesTest {
@@ -104,4 +115,180 @@ public class DependenciesTest {
 
         assertThrows(RuntimeException.class, run);
     }
+
+    @Test
+    public void check_cycling_tree() {
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.TEST_STUB, Priority.FALLBACK, DependenciesTest.class, ctx -> {
+                    ctx.get(Properties.GOODBYE);
+                    return new Properties.TestStub();
+                }))
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, DependenciesTest.class, ctx -> {
+                    ctx.get(Properties.TEST_STUB);
+                    return "Hello World";
+                }))
+                .add(new TestPropertyProvider<>(Properties.GOODBYE, Priority.FALLBACK, DependenciesTest.class, ctx -> ctx.get(Properties.HELLO_WORLD)))
+                .build();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> introspection.get(Properties.GOODBYE));
+        String[] lines = exception.getMessage().split(System.lineSeparator());
+
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].startsWith("cycling: cycling tree: GOODBYE (provider in %s)".formatted(DependenciesTest.class)));
+        assertTrue(lines[2].startsWith("HELLO_WORLD"));
+        assertTrue(lines[4].startsWith("TEST_STUB"));
+    }
+
+    private static TestIntrospectionImpl chain(TestIntrospectionImpl parent, boolean cyclic) {
+        return parent.createChild(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.TEST_STUB, Priority.FALLBACK, DependenciesTest.class, ctx -> {
+                    if (cyclic) ctx.get(Properties.GOODBYE);
+                    return new Properties.TestStub();
+                }))
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, DependenciesTest.class, ctx -> {
+                    ctx.get(Properties.TEST_STUB);
+                    return "Hello World";
+                }))
+                .add(new TestPropertyProvider<>(Properties.GOODBYE, Priority.FALLBACK, DependenciesTest.class, ctx -> ctx.get(Properties.HELLO_WORLD) + ", Goodbye"))
+                .build();
+    }
+
+    @Test
+    public void trusted_dependencies() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT)
+                .trustDependencies()
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Hello World, Goodbye", chain(root, false).get(Properties.GOODBYE));
+        }
+    }
+
+    @Test
+    public void trusted_dependencies_new_edge() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT)
+                .trustDependencies()
+                .build();
+
+        assertEquals("Hello World, Goodbye", chain(root, false).get(Properties.GOODBYE));
+        assertEquals("Hello World, Goodbye", chain(root, false).get(Properties.GOODBYE));
+
+        TestIntrospectionImpl cyclic = chain(root, true);
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> cyclic.get(Properties.GOODBYE));
+        assertTrue(exception.getMessage().startsWith("cycling"));
+
+        // tracking is used again until the properties are trusted again
+        assertEquals("Hello World, Goodbye", chain(root, false).get(Properties.GOODBYE));
+    }
+
+    @Test
+    public void trusted_dependencies_cycling_tree() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT)
+                .trustDependencies()
+                .build();
+
+        assertEquals("Hello World, Goodbye", chain(root, false).get(Properties.GOODBYE));
+
+        // HELLO_WORLD and TEST_STUB are nested untracked inside the trusted frame of GOODBYE when the cycle is found
+        TestIntrospectionImpl cyclic = chain(root, true);
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> cyclic.get(Properties.GOODBYE));
+        String[] lines = exception.getMessage().split(System.lineSeparator());
+
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].startsWith("cycling: cycling tree: GOODBYE (provider in %s)".formatted(DependenciesTest.class)));
+        assertTrue(lines[2].startsWith("HELLO_WORLD"));
+        assertTrue(lines[4].startsWith("TEST_STUB"));
+    }
+
+    @Test
+    public void dependency_graph() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT)
+                .recordDependencies()
+                .build();
+
+        assertEquals(Set.of(), chain(root, false).dependencyGraph().dependencies(Properties.GOODBYE));
+        assertEquals("Hello World, Goodbye", chain(root, false).get(Properties.GOODBYE));
+
+        // children created later know the dependencies without resolving anything
+        DependencyGraph graph = chain(root, false).dependencyGraph();
+        assertEquals(Set.of(Properties.TEST_STUB, Properties.HELLO_WORLD, Properties.GOODBYE), graph.properties());
+        assertEquals(Set.of(Properties.HELLO_WORLD), graph.dependencies(Properties.GOODBYE));
+        assertEquals(List.of(List.of(Properties.TEST_STUB), List.of(Properties.HELLO_WORLD), List.of(Properties.GOODBYE)), graph.plan());
+
+        assertTrue(graph.toDot().contains("\"GOODBYE\" -> \"HELLO_WORLD\";"));
+        assertTrue(graph.toJson().contains("{\"name\": \"HELLO_WORLD\", \"scope\": \"ROOT\", \"dependencies\": [\"TEST_STUB\"]}"));
+    }
+
+    @Test
+    public void dependency_graph_resolved_in_parent() {
+        TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.ROOT)
+                .recordDependencies()
+                .add(new TestPropertyProvider<>(Properties.TEST_STUB, Priority.FALLBACK, DependenciesTest.class, _ -> new Properties.TestStub()))
+                .build();
+        assertNotNull(parent.get(Properties.TEST_STUB));
+
+        // TEST_STUB is answered by the parent's cache, its provider isn't called again
+        TestIntrospectionImpl child = parent.createChild(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, DependenciesTest.class, ctx -> {
+                    ctx.get(Properties.TEST_STUB);
+                    return "Hello World";
+                }))
+                .build();
+        assertEquals("Hello World", child.get(Properties.HELLO_WORLD));
+
+        DependencyGraph graph = child.dependencyGraph();
+        assertEquals(Set.of(Properties.TEST_STUB), graph.dependencies(Properties.HELLO_WORLD));
+        assertEquals(List.of(List.of(Properties.TEST_STUB), List.of(Properties.HELLO_WORLD)), graph.plan());
+    }
+
+    @Test
+    public void provider_statistics() throws IOException {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT)
+                .profileProviders()
+                .build();
+
+        Path file = Files.createTempFile("providers", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("dev.goldmensch.propane.ProviderInvocation");
+            recording.start();
+
+            assertEquals("Hello World, Goodbye", chain(root, false).get(Properties.GOODBYE));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        assertEquals(3, root.providerStatistics().get(DependenciesTest.class).invocations());
+        assertEquals(0, root.providerStatistics().get(DependenciesTest.class).failures());
+
+        // per property, the time of GOODBYE includes the one of HELLO_WORLD
+        assertEquals(1, root.providerStatistics(Properties.HELLO_WORLD).get(DependenciesTest.class).invocations());
+        assertTrue(root.providerStatistics(Properties.GOODBYE).get(DependenciesTest.class).nanos()
+                >= root.providerStatistics(Properties.HELLO_WORLD).get(DependenciesTest.class).nanos());
+        assertEquals(Map.of(), root.providerStatistics(new TestSingletonProperty<>("UNUSED", Property.Source.PROVIDED, Scopes.ROOT, String.class)));
+
+        // GOODBYE requires HELLO_WORLD, which requires TEST_STUB
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertEquals(3, events.size());
+        assertEquals(List.of("TEST_STUB", "HELLO_WORLD", "GOODBYE"), events.stream().map(event -> event.getString("property")).toList());
+        assertEquals(List.of(2, 1, 0), events.stream().map(event -> event.getInt("depth")).toList());
+        assertEquals("ROOT", events.getFirst().getString("scope"));
+        assertFalse(events.getFirst().getBoolean("nullResult"));
+    }
+
+    @Test
+    public void provider_statistics_not_profiled() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT).build();
+
+        assertThrows(RuntimeException.class, root::providerStatistics);
+        assertThrows(RuntimeException.class, () -> root.createChild(Scopes.ROOT).profileProviders());
+    }
+
+    @Test
+    public void trusted_dependencies_only_on_root() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT).build();
+
+        assertThrows(RuntimeException.class, () -> root.createChild(Scopes.ROOT).trustDependencies());
+    }
 }
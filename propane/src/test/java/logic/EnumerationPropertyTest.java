@@ -9,6 +9,7 @@ import logic.impl.TestProperty;
 import logic.impl.TestPropertyProvider;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
@@ -78,4 +79,22 @@ public class EnumerationPropertyTest {
 
         assertEquals(List.of(new Properties.TestStub(), new Properties.TestStub()), introspection.get(Properties.TWO));
     }
+
+    @Test
+    public void child_values_before_parent_values() {
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.ONE, Priority.FALLBACK, EnumerationPropertyTest.class, _ -> List.of("root")))
+                .build();
+
+        List<String> expected = new ArrayList<>(List.of("root"));
+        for (int i = 0; i < 12; i++) {
+            String value = "child" + i;
+            introspection = introspection.createChild(Scopes.ROOT)
+                    .add(new TestPropertyProvider<>(Properties.ONE, Priority.FALLBACK, EnumerationPropertyTest.class, _ -> List.of(value)))
+                    .build();
+
+            expected.addFirst(value);
+            assertEquals(expected, introspection.get(Properties.ONE));
+        }
+    }
 }
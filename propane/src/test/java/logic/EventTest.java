@@ -2,22 +2,46 @@ package logic;
 
 import dev.goldmensch.propane.Registry;
 import dev.goldmensch.propane.Scope;
+import dev.goldmensch.propane.event.BackPressure;
+import dev.goldmensch.propane.event.BatchListener;
+import dev.goldmensch.propane.event.Cancellable;
 import dev.goldmensch.propane.event.Event;
+import dev.goldmensch.propane.event.EventMetrics;
 import dev.goldmensch.propane.event.Listener;
 import dev.goldmensch.propane.event.Subscription;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import logic.impl.TestIntrospection;
 import logic.impl.TestIntrospectionImpl;
 import org.jspecify.annotations.NonNull;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class EventTest {
 
     static Registry<Scope> registry = new Registry<>(Map.of(
-            FooEvent.class, Scopes.SECOND
+            FooEvent.class, Scopes.SECOND,
+            BarEvent.class, Scopes.SECOND,
+            CancelEvent.class, Scopes.SECOND
     ));
 
     private enum Scopes implements Scope {
@@ -31,7 +55,7 @@ public class EventTest {
         }
     }
 
-    public sealed interface TestEvent extends Event<Scope> permits FooEvent {
+    public sealed interface TestEvent extends Event<Scope> permits FooEvent, BarEvent, CancelEvent {
     }
 
     public record FooEvent(String value) implements TestEvent {
@@ -41,6 +65,34 @@ public class EventTest {
         }
     }
 
+    public record BarEvent(String value) implements TestEvent {
+        @Override
+        public Scope scope() {
+            return Scopes.SECOND;
+        }
+    }
+
+    public record CancelEvent(AtomicBoolean cancelled) implements TestEvent, Cancellable {
+        @Override
+        public Scope scope() {
+            return Scopes.SECOND;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+    }
+
+    // implemented by no registered event
+    public interface UnregisteredEvent extends Event<Scope> {
+    }
+
     public interface TestListener<E extends TestEvent> extends Listener<E, Scope, TestIntrospection> {
     }
 
@@ -149,4 +201,512 @@ public class EventTest {
             Assert.assertThrows(RuntimeException.class, () -> introspection.publish(new FooEvent("")));
         });
     }
+
+    @Test
+    public void subscribe_while_publishing() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .build();
+
+            AtomicInteger calls = new AtomicInteger();
+            AtomicReference<Subscription<?, ?>> self = new AtomicReference<>();
+            self.set(introspection.subscribe(Listener.create(FooEvent.class, (_, _) -> {
+                // modifies the listeners of the currently published event
+                self.get().unsubscribe();
+                introspection.subscribe(Listener.create(FooEvent.class, (_, _) -> calls.incrementAndGet()));
+            })));
+
+            introspection.publish(new FooEvent(""));
+            Assert.assertEquals(0, calls.get()); // listeners are snapshotted when publishing
+
+            introspection.publish(new FooEvent(""));
+            Assert.assertEquals(1, calls.get());
+        });
+    }
+
+    @Test
+    public void concurrent_subscribe_and_publish() throws InterruptedException {
+        TestIntrospectionImpl introspection = ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry)
+                .call(() -> TestIntrospectionImpl.create(Scopes.SECOND).build());
+
+        AtomicInteger calls = new AtomicInteger();
+        Thread subscriber = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 1000; i++) {
+                introspection.subscribe(Listener.create(FooEvent.class, (_, _) -> calls.incrementAndGet()))
+                        .unsubscribe();
+            }
+        });
+
+        introspection.subscribe(Listener.create(FooEvent.class, (_, _) -> calls.incrementAndGet()));
+        for (int i = 0; i < 1000; i++) {
+            introspection.publish(new FooEvent(""));
+        }
+        subscriber.join();
+
+        Assert.assertTrue(calls.get() >= 1000); // the permanent listener must never be lost
+        int before = calls.get();
+        introspection.publish(new FooEvent(""));
+        Assert.assertEquals(before + 1, calls.get());
+    }
+
+    @Test
+    public void publish_after_parent_subscribed() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.FIRST)
+                    .build();
+
+            TestIntrospectionImpl child = parent.createChild(Scopes.SECOND)
+                    .build();
+
+            List<String> calls = new ArrayList<>();
+            child.subscribe(Listener.create(FooEvent.class, (_, _) -> calls.add("child")));
+            child.publish(new FooEvent(""));
+            Assert.assertEquals(List.of("child"), calls);
+
+            // the listeners collected by the previous publish are outdated now
+            Subscription<?, ?> subscription = parent.subscribe(Listener.create(FooEvent.class, (_, _) -> calls.add("parent")));
+            calls.clear();
+            child.publish(new FooEvent(""));
+            Assert.assertEquals(List.of("child", "parent"), calls);
+
+            subscription.unsubscribe();
+            calls.clear();
+            child.publish(new FooEvent(""));
+            Assert.assertEquals(List.of("child"), calls);
+        });
+    }
+
+    @Test
+    public void publish_to_supertype_listener() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.FIRST)
+                    .build();
+
+            TestIntrospectionImpl child = parent.createChild(Scopes.SECOND)
+                    .build();
+
+            List<String> calls = new ArrayList<>();
+            parent.subscribe(Listener.create(TestEvent.class, (event, _) -> calls.add("parent " + event.getClass().getSimpleName())));
+            child.subscribe(Listener.create(TestEvent.class, (event, _) -> calls.add("child " + event.getClass().getSimpleName())));
+            child.subscribe(Listener.create(FooEvent.class, (_, _) -> calls.add("child FooEvent exact")));
+
+            child.publish(new FooEvent(""));
+            child.publish(new BarEvent(""));
+
+            Assert.assertEquals(List.of(
+                    "child FooEvent exact", "child FooEvent", "parent FooEvent",
+                    "child BarEvent", "parent BarEvent"
+            ), calls);
+        });
+    }
+
+    @Test
+    public void register_supertype_wrong_scope() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.THIRD)
+                    .build();
+
+            Assert.assertThrows(RuntimeException.class, () -> introspection.subscribe(Listener.create(TestEvent.class, (_, _) -> {})));
+        });
+    }
+
+    @Test
+    public void subscribe_supertype_without_events() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .build();
+
+            // no registered event implements it, so there is no scope to check against
+            RuntimeException exception = Assert.assertThrows(RuntimeException.class, () -> introspection.subscribe(Listener.create(UnregisteredEvent.class, (_, _) -> {})));
+            Assert.assertTrue(exception.getMessage().startsWith("No scope found for event"));
+        });
+    }
+
+    @Test
+    public void registry_dense_event_ids() {
+        Registry<Scope> dense = new Registry<>(List.of(
+                Map.entry(FooEvent.class, Scopes.SECOND),
+                Map.entry(BarEvent.class, Scopes.THIRD),
+                Map.entry(CancelEvent.class, Scopes.FIRST)
+        ), 0);
+
+        Assert.assertEquals(3, dense.events());
+        Assert.assertEquals(0, dense.eventId(FooEvent.class));
+        Assert.assertEquals(1, dense.eventId(BarEvent.class));
+        Assert.assertEquals(2, dense.eventId(CancelEvent.class));
+        Assert.assertEquals(-1, dense.eventId(TestEvent.class));
+        Assert.assertEquals(-1, dense.eventId(String.class));
+    }
+
+    @Test
+    public void registry_event_priority() {
+        Registry<Scope> dense = new Registry<>(List.of(
+                Map.entry(FooEvent.class, Scopes.SECOND),
+                Map.entry(BarEvent.class, Scopes.THIRD),
+                Map.entry(CancelEvent.class, Scopes.FIRST)
+        ), 0);
+
+        Assert.assertEquals(Scopes.SECOND.priority(), dense.eventPriority(dense.eventId(FooEvent.class)));
+        Assert.assertEquals(Scopes.THIRD.priority(), dense.eventPriority(dense.eventId(BarEvent.class)));
+        Assert.assertEquals(Scopes.FIRST.priority(), dense.eventPriority(dense.eventId(CancelEvent.class)));
+
+        // a supertype gets the scope of its implementations, that is the parent of all others
+        Assert.assertEquals(Scopes.FIRST, dense.scopeForEvent(TestEvent.class));
+        Assert.assertThrows(RuntimeException.class, () -> dense.scopeForEvent(UnregisteredEvent.class));
+    }
+
+    @Test
+    public void listeners_by_priority() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.FIRST)
+                    .build();
+
+            TestIntrospectionImpl child = parent.createChild(Scopes.SECOND)
+                    .build();
+
+            List<String> calls = new ArrayList<>();
+            child.subscribe(Listener.create(FooEvent.class, (_, _) -> calls.add("child 0")));
+            parent.subscribe(Listener.create(FooEvent.class, 10, (_, _) -> calls.add("parent 10")));
+            child.subscribe(Listener.create(FooEvent.class, 5, (_, _) -> calls.add("child 5")));
+            parent.subscribe(Listener.create(FooEvent.class, (_, _) -> calls.add("parent 0")));
+            child.subscribe(Listener.create(TestEvent.class, 10, (_, _) -> calls.add("child supertype 10")));
+
+            child.publish(new FooEvent(""));
+
+            Assert.assertEquals(List.of("child supertype 10", "parent 10", "child 5", "child 0", "parent 0"), calls);
+        });
+    }
+
+    @Test
+    public void cancel_stops_propagation() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.FIRST)
+                    .build();
+
+            TestIntrospectionImpl child = parent.createChild(Scopes.SECOND)
+                    .build();
+
+            List<String> calls = new ArrayList<>();
+            child.subscribe(Listener.create(CancelEvent.class, 10, (event, _) -> {
+                calls.add("invalidate");
+                event.cancel();
+            }));
+            child.subscribe(Listener.create(CancelEvent.class, (_, _) -> calls.add("child")));
+            parent.subscribe(Listener.create(CancelEvent.class, (_, _) -> calls.add("parent")));
+
+            child.publish(new CancelEvent(new AtomicBoolean()));
+            Assert.assertEquals(List.of("invalidate"), calls);
+
+            calls.clear();
+            child.publishAll(List.of(new CancelEvent(new AtomicBoolean()), new CancelEvent(new AtomicBoolean())));
+            Assert.assertEquals(List.of("invalidate", "invalidate"), calls);
+        });
+    }
+
+    @Test
+    public void weak_subscription_purged() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .build();
+
+            AtomicInteger called = new AtomicInteger();
+            Listener<FooEvent, Scope, TestIntrospection> listener = Listener.create(FooEvent.class, (_, _) -> called.incrementAndGet());
+            introspection.subscribeWeakly(listener);
+
+            introspection.publish(new FooEvent(""));
+            Assert.assertEquals(1, called.get());
+
+            WeakReference<?> reference = new WeakReference<>(listener);
+            listener = null;
+            awaitCollected(reference);
+
+            introspection.publish(new FooEvent(""));
+            introspection.publish(new FooEvent(""));
+            Assert.assertEquals(1, called.get());
+        });
+    }
+
+    @Test
+    public void subscription_tied_to_owner() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .build();
+
+            AtomicInteger called = new AtomicInteger();
+            TestIntrospectionImpl[] owner = {parent.createChild(Scopes.THIRD).build()};
+            parent.subscribe(ownedListener(owner[0], called), owner[0]);
+
+            System.gc();
+            parent.publish(new FooEvent(""));
+            Assert.assertEquals(1, called.get());
+
+            WeakReference<?> reference = new WeakReference<>(owner[0]);
+            owner[0] = null;
+            awaitCollected(reference);
+
+            parent.publish(new FooEvent(""));
+            Assert.assertEquals(1, called.get());
+        });
+    }
+
+    @Test
+    public void subscription_tied_to_owner_unsubscribed() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .build();
+            TestIntrospectionImpl owner = parent.createChild(Scopes.THIRD).build();
+
+            AtomicInteger called = new AtomicInteger();
+            Listener<FooEvent, Scope, TestIntrospection> listener = Listener.create(FooEvent.class, (_, _) -> called.incrementAndGet());
+            Subscription<?, ?> subscription = parent.subscribe(listener, owner);
+            subscription.unsubscribe();
+
+            // the owner doesn't retain the listener anymore
+            WeakReference<?> reference = new WeakReference<>(listener);
+            listener = null;
+            subscription = null;
+            awaitCollected(reference);
+
+            parent.publish(new FooEvent(""));
+            Assert.assertEquals(0, called.get());
+            Assert.assertEquals(Scopes.THIRD, owner.scope());
+        });
+    }
+
+    // the listener references its owner, which must not keep the owner reachable
+    private static Listener<FooEvent, Scope, TestIntrospection> ownedListener(TestIntrospectionImpl owner, AtomicInteger called) {
+        return Listener.create(FooEvent.class, (_, _) -> called.addAndGet(owner.scope() == Scopes.THIRD ? 1 : 0));
+    }
+
+    private static void awaitCollected(WeakReference<?> reference) {
+        for (int i = 0; i < 100 && !reference.refersTo(null); i++) {
+            System.gc();
+            Thread.onSpinWait();
+        }
+        Assert.assertTrue(reference.refersTo(null));
+    }
+
+    @Test
+    public void event_metrics() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            List<String> measured = new ArrayList<>();
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .eventMetrics((event, owner, nanos, failure) -> {
+                        Assert.assertTrue(nanos >= 0);
+                        measured.add("%s %s %s".formatted(event.getSimpleName(), owner.getName(), failure != null ? failure.getMessage() : "ok"));
+                    })
+                    .build();
+
+            introspection.subscribe(new FooListener());
+            introspection.subscribe(Listener.create(BarEvent.class, (_, _) -> {
+                throw new IllegalStateException("failed");
+            }));
+
+            introspection.publish(new FooEvent(""));
+            Assert.assertThrows(IllegalStateException.class, () -> introspection.publish(new BarEvent("")));
+
+            // the owner of listeners created by Listener#create is the class calling it
+            Assert.assertEquals(List.of("FooEvent logic.EventTest$FooListener ok", "BarEvent logic.EventTest failed"), measured);
+        });
+    }
+
+    @Test
+    public void event_metrics_jfr() throws IOException {
+        Path file = Files.createTempFile("listeners", ".jfr");
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .eventMetrics(EventMetrics.jfr())
+                    .build();
+
+            introspection.subscribe(Listener.create(FooEvent.class, (_, _) -> {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+
+            try (Recording recording = new Recording()) {
+                recording.enable("dev.goldmensch.propane.ListenerInvocation");
+                recording.start();
+
+                introspection.publish(new FooEvent(""));
+
+                recording.stop();
+                recording.dump(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // the duration of the listener call is stored in the field time
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(FooEvent.class.getName(), events.getFirst().getClass("eventType").getName());
+        Assert.assertTrue(events.getFirst().getDuration("time").toMillis() >= 5);
+        Assert.assertNull(events.getFirst().getString("failure"));
+    }
+
+    @Test
+    public void event_metrics_only_on_root() {
+        TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.FIRST)
+                .build();
+
+        Assert.assertThrows(RuntimeException.class, () -> parent.createChild(Scopes.SECOND).eventMetrics(EventMetrics.jfr()));
+    }
+
+    @Test
+    public void listeners_scoped() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.FIRST)
+                    .build();
+
+            TestIntrospectionImpl child = parent.createChild(Scopes.SECOND)
+                    .build();
+
+            List<TestIntrospectionImpl> bound = new ArrayList<>();
+            child.subscribe(Listener.create(FooEvent.class, (_, _) -> bound.add(TestIntrospectionImpl.INTROSPECTION.get())));
+            parent.subscribe(Listener.create(FooEvent.class, (_, _) -> bound.add(TestIntrospectionImpl.INTROSPECTION.get())));
+
+            child.publish(new FooEvent(""));
+            child.scoped().run(() -> child.publish(new FooEvent("")));
+
+            Assert.assertEquals(List.of(child, child, child, child), bound);
+        });
+    }
+
+    @Test
+    public void publish_all_batched() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.FIRST)
+                    .build();
+
+            TestIntrospectionImpl child = parent.createChild(Scopes.SECOND)
+                    .build();
+
+            List<List<FooEvent>> batches = new ArrayList<>();
+            List<FooEvent> single = new ArrayList<>();
+            List<TestIntrospectionImpl> bound = new ArrayList<>();
+            child.subscribe(BatchListener.create(FooEvent.class, (events, _) -> {
+                batches.add(events);
+                bound.add(TestIntrospectionImpl.INTROSPECTION.get());
+            }));
+            parent.subscribe(Listener.create(FooEvent.class, (event, _) -> single.add(event)));
+
+            List<FooEvent> events = List.of(new FooEvent("a"), new FooEvent("b"), new FooEvent("c"));
+            child.publishAll(events);
+
+            Assert.assertEquals(List.of(events), batches);
+            Assert.assertEquals(events, single);
+            Assert.assertEquals(List.of(child), bound);
+
+            child.publish(new FooEvent("d"));
+            Assert.assertEquals(List.of(new FooEvent("d")), batches.getLast());
+        });
+    }
+
+    @Test
+    public void publish_all_wrong_scope() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.FIRST)
+                    .build();
+
+            AtomicInteger called = new AtomicInteger();
+            introspection.subscribe(Listener.create(FooEvent.class, (_, _) -> called.incrementAndGet()));
+
+            Assert.assertThrows(RuntimeException.class, () -> introspection.publishAll(List.of(new FooEvent(""))));
+            Assert.assertEquals(0, called.get());
+        });
+    }
+
+    @Test
+    public void publish_async_ordered_and_scoped() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .build();
+
+            Thread publisher = Thread.currentThread();
+            List<String> received = Collections.synchronizedList(new ArrayList<>());
+            introspection.subscribe(Listener.create(FooEvent.class, (e, _) -> {
+                Assert.assertSame(introspection, TestIntrospectionImpl.INTROSPECTION.get());
+                Assert.assertNotSame(publisher, Thread.currentThread());
+                received.add(e.value());
+            }));
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                expected.add(String.valueOf(i));
+                futures.add(introspection.publishAsync(new FooEvent(String.valueOf(i))));
+            }
+
+            futures.forEach(CompletableFuture::join);
+            Assert.assertEquals(expected, received);
+        });
+    }
+
+    @Test
+    public void publish_async_back_pressure() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .backPressure(1, BackPressure.FAIL)
+                    .build();
+
+            CountDownLatch latch = new CountDownLatch(1);
+            introspection.subscribe(Listener.create(FooEvent.class, (_, _) -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+
+            CompletableFuture<Void> first = introspection.publishAsync(new FooEvent("first"));
+            CompletableFuture<Void> rejected = introspection.publishAsync(new FooEvent("rejected"));
+            latch.countDown();
+
+            first.join();
+            CompletionException exception = Assert.assertThrows(CompletionException.class, rejected::join);
+            Assert.assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        });
+    }
+
+    @Test
+    public void publish_async_to_itself_blocking() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .backPressure(1, BackPressure.BLOCK)
+                    .build();
+
+            // the mailbox is full while the listener runs, it would wait for itself if publishing blocked
+            List<String> received = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch delivered = new CountDownLatch(3);
+            introspection.subscribe(Listener.create(FooEvent.class, (e, _) -> {
+                received.add(e.value());
+                delivered.countDown();
+                if (e.value().length() < 3) {
+                    introspection.publishAsync(new FooEvent(e.value() + "+"));
+                }
+            }));
+
+            introspection.publishAsync(new FooEvent("+"));
+            try {
+                Assert.assertTrue(delivered.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            Assert.assertEquals(List.of("+", "++", "+++"), received);
+        });
+    }
+
+    @Test
+    public void back_pressure_only_on_root() {
+        ScopedValue.where(TestIntrospectionImpl.TEST_REGISTRY, registry).run(() -> {
+            TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.SECOND)
+                    .build();
+
+            Assert.assertThrows(RuntimeException.class, () -> introspection.createChild(Scopes.SECOND).backPressure(1, BackPressure.DROP));
+        });
+    }
 }
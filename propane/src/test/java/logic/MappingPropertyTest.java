@@ -9,6 +9,7 @@ import logic.impl.TestProperty;
 import logic.impl.TestPropertyProvider;
 import org.junit.Test;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -77,4 +78,25 @@ public class MappingPropertyTest {
 
         assertEquals(Map.of("1", new Properties.TestStub(), "2", new Properties.TestStub()), introspection.get(Properties.TWO));
     }
+
+    @Test
+    public void child_entries_over_parent_entries() {
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.ONE, Priority.FALLBACK, MappingPropertyTest.class, _ -> Map.of("a", "root", "b", "root")))
+                .build();
+
+        Map<String, String> expected = new HashMap<>(Map.of("a", "root", "b", "root"));
+        for (int i = 0; i < 12; i++) {
+            String key = "key" + i;
+            String value = "child" + i;
+            introspection = introspection.createChild(Scopes.ROOT)
+                    .add(new TestPropertyProvider<>(Properties.ONE, Priority.FALLBACK, MappingPropertyTest.class, _ -> Map.of("a", value, key, value)))
+                    .build();
+
+            expected.put("a", value);
+            expected.put(key, value);
+            assertEquals(expected, introspection.get(Properties.ONE));
+            assertEquals(expected.size(), introspection.get(Properties.ONE).size());
+        }
+    }
 }
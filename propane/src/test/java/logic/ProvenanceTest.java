@@ -0,0 +1,70 @@
+package logic;
+
+import dev.goldmensch.propane.Scope;
+import dev.goldmensch.propane.property.Priority;
+import dev.goldmensch.propane.property.Property;
+import logic.impl.*;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ProvenanceTest {
+
+    private enum Scopes implements Scope {
+        ROOT;
+
+        @Override
+        public int priority() {
+            return ordinal();
+        }
+    }
+
+    private static class Properties {
+        static TestProperty<String> HELLO_WORLD = new TestSingletonProperty<>("HELLO_WORLD", Property.Source.EXTENSION, Scopes.ROOT, String.class);
+        static TestProperty<Collection<String>> NAMES = new TestEnumerationProperty<>("NAMES", Property.Source.PROVIDED, Scopes.ROOT, String.class, Property.FallbackStrategy.COMBINE);
+    }
+
+    private static class Parent {}
+    private static class Child {}
+
+    @Test
+    public void singleton_provenance() {
+        TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.ROOT)
+                .recordProvenance()
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, Parent.class, _ -> "Hello World"))
+                .build();
+
+        TestIntrospectionImpl child = parent.createChild(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, Child.class, _ -> null))
+                .build();
+
+        assertEquals(List.of(Parent.class), child.provenance(Properties.HELLO_WORLD));
+        assertEquals(List.of(Parent.class), parent.provenance(Properties.HELLO_WORLD));
+    }
+
+    @Test
+    public void enumeration_provenance() {
+        TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.ROOT)
+                .recordProvenance()
+                .add(new TestPropertyProvider<>(Properties.NAMES, Priority.FALLBACK, Parent.class, _ -> List.of("parent")))
+                .build();
+
+        TestIntrospectionImpl child = parent.createChild(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.NAMES, Priority.FALLBACK, Child.class, _ -> List.of("child")))
+                .build();
+
+        assertEquals(List.of(Child.class, Parent.class), child.provenance(Properties.NAMES));
+    }
+
+    @Test
+    public void provenance_not_recorded() {
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, Parent.class, _ -> "Hello World"))
+                .build();
+
+        assertThrows(RuntimeException.class, () -> introspection.provenance(Properties.HELLO_WORLD));
+    }
+}
@@ -0,0 +1,126 @@
+package logic;
+
+import dev.goldmensch.propane.Scope;
+import dev.goldmensch.propane.property.Priority;
+import dev.goldmensch.propane.property.Property;
+import logic.impl.TestIntrospectionImpl;
+import logic.impl.TestProperty;
+import logic.impl.TestPropertyProvider;
+import logic.impl.TestSingletonProperty;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SingleFlightTest {
+
+    private enum Scopes implements Scope {
+        ROOT,
+        CHILD;
+
+        @Override
+        public int priority() {
+            return ordinal();
+        }
+    }
+
+    private static class Properties {
+        private static class TestStub {}
+
+        static TestProperty<Properties.TestStub> TEST_STUB = new TestSingletonProperty<>("TEST_STUB", Property.Source.PROVIDED, Scopes.ROOT, Properties.TestStub.class);
+        static TestProperty<String> HELLO_WORLD = new TestSingletonProperty<>("HELLO_WORLD", Property.Source.PROVIDED, Scopes.ROOT, String.class);
+        static TestProperty<String> GOODBYE = new TestSingletonProperty<>("GOODBYE", Property.Source.PROVIDED, Scopes.ROOT, String.class);
+    }
+
+    @Test(timeout = 10_000)
+    public void concurrent_cold_read_computed_once() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .singleFlight()
+                .build()
+                .createChild(Scopes.CHILD)
+                .add(new TestPropertyProvider<>(Properties.TEST_STUB, Priority.FALLBACK, SingleFlightTest.class, _ -> {
+                    calls.incrementAndGet();
+                    sleep();
+                    return new Properties.TestStub();
+                }))
+                .build();
+
+        List<Future<Properties.TestStub>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return introspection.get(Properties.TEST_STUB);
+                }));
+            }
+            start.countDown();
+        }
+
+        assertEquals(1, calls.get());
+        for (Future<Properties.TestStub> result : results) {
+            assertSame(introspection.get(Properties.TEST_STUB), result.get());
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void cycle_across_threads() throws Exception {
+        CountDownLatch helloStarted = new CountDownLatch(1);
+        CountDownLatch goodbyeStarted = new CountDownLatch(1);
+
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .singleFlight()
+                .build()
+                .createChild(Scopes.CHILD)
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, SingleFlightTest.class, ctx -> {
+                    helloStarted.countDown();
+                    await(goodbyeStarted);
+                    return ctx.get(Properties.GOODBYE);
+                }))
+                .add(new TestPropertyProvider<>(Properties.GOODBYE, Priority.FALLBACK, SingleFlightTest.class, ctx -> {
+                    goodbyeStarted.countDown();
+                    await(helloStarted);
+                    return ctx.get(Properties.HELLO_WORLD);
+                }))
+                .build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> hello = executor.submit(() -> introspection.get(Properties.HELLO_WORLD));
+            Future<String> goodbye = executor.submit(() -> introspection.get(Properties.GOODBYE));
+
+            // each thread either detects the cycle itself or receives the failure of the other one
+            assertThrows(ExecutionException.class, hello::get);
+            assertThrows(ExecutionException.class, goodbye::get);
+        }
+    }
+
+    @Test
+    public void single_flight_only_on_root() {
+        TestIntrospectionImpl parent = TestIntrospectionImpl.create(Scopes.ROOT)
+                .build();
+
+        assertThrows(RuntimeException.class, () -> parent.createChild(Scopes.CHILD).singleFlight());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -62,4 +62,15 @@ public class SingletonPropertyTest {
         assertEquals("Hello World", introspection.get(Properties.HELLO_WORLD));
     }
 
+    @Test
+    public void highest_priority_then_newest_provider() {
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.of(5), SingletonPropertyTest.class, _ -> "Hello World (5)"))
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.of(10), SingletonPropertyTest.class, _ -> "Hello World (10, old)"))
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.of(10), SingletonPropertyTest.class, _ -> "Hello World (10, new)"))
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, SingletonPropertyTest.class, _ -> "Hello World (Fallback)"))
+                .build();
+
+        assertEquals("Hello World (10, new)", introspection.get(Properties.HELLO_WORLD));
+    }
 }
@@ -0,0 +1,177 @@
+package logic;
+
+import dev.goldmensch.propane.Scope;
+import dev.goldmensch.propane.property.Priority;
+import dev.goldmensch.propane.property.Property;
+import logic.impl.TestIntrospectionImpl;
+import logic.impl.TestProperty;
+import logic.impl.TestPropertyProvider;
+import logic.impl.TestEnumerationProperty;
+import logic.impl.TestSingletonProperty;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class WarmUpTest {
+
+    private enum Scopes implements Scope {
+        ROOT,
+        CHILD;
+
+        @Override
+        public int priority() {
+            return ordinal();
+        }
+    }
+
+    private static class Properties {
+        static TestProperty<String> HELLO_WORLD = new TestSingletonProperty<>("HELLO_WORLD", Property.Source.PROVIDED, Scopes.ROOT, String.class);
+        static TestProperty<String> GOODBYE = new TestSingletonProperty<>("GOODBYE", Property.Source.PROVIDED, Scopes.ROOT, String.class);
+        static TestProperty<Collection<String>> NAMES = new TestEnumerationProperty<>("NAMES", Property.Source.PROVIDED, Scopes.ROOT, String.class, Property.FallbackStrategy.COMBINE);
+    }
+
+    @Test(timeout = 10_000)
+    public void warm_up_resolves_all() {
+        AtomicInteger calls = new AtomicInteger();
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .build()
+                .createChild(Scopes.CHILD)
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, WarmUpTest.class, _ -> {
+                    calls.incrementAndGet();
+                    return "Hello World";
+                }))
+                .add(new TestPropertyProvider<>(Properties.NAMES, Priority.FALLBACK, WarmUpTest.class, _ -> {
+                    calls.incrementAndGet();
+                    return List.of("name");
+                }))
+                .build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            introspection.warmUp(executor).join();
+        }
+        assertEquals(2, calls.get());
+
+        assertEquals("Hello World", introspection.get(Properties.HELLO_WORLD));
+        assertEquals(List.of("name"), introspection.get(Properties.NAMES));
+        assertEquals(2, calls.get());
+    }
+
+    @Test(timeout = 10_000)
+    public void warm_up_in_dependency_order() {
+        TestIntrospectionImpl root = TestIntrospectionImpl.create(Scopes.ROOT)
+                .trustDependencies()
+                .build();
+
+        AtomicInteger helloCalls = new AtomicInteger();
+        // the first child records that GOODBYE requires HELLO_WORLD
+        child(root, helloCalls).get(Properties.GOODBYE);
+
+        helloCalls.set(0);
+        TestIntrospectionImpl child = child(root, helloCalls);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            child.warmUp(executor).join();
+        }
+
+        // HELLO_WORLD is resolved before GOODBYE, thus its provider isn't called concurrently by the provider of GOODBYE
+        assertEquals(1, helloCalls.get());
+        assertEquals("Hello World was nice, but now: Goodbye!", child.get(Properties.GOODBYE));
+    }
+
+    private static TestIntrospectionImpl child(TestIntrospectionImpl root, AtomicInteger helloCalls) {
+        return root.createChild(Scopes.CHILD)
+                .add(new TestPropertyProvider<>(Properties.GOODBYE, Priority.FALLBACK, WarmUpTest.class, ctx ->
+                        ctx.get(Properties.HELLO_WORLD) + " was nice, but now: Goodbye!"))
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, WarmUpTest.class, _ -> {
+                    helloCalls.incrementAndGet();
+                    return "Hello World";
+                }))
+                .build();
+    }
+
+    @Test(timeout = 10_000)
+    public void warm_up_without_modes() {
+        AtomicInteger helloCalls = new AtomicInteger();
+        AtomicInteger goodbyeCalls = new AtomicInteger();
+
+        // nothing is known about the dependencies, GOODBYE and HELLO_WORLD end up in the same layer
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.GOODBYE, Priority.FALLBACK, WarmUpTest.class, ctx -> {
+                    goodbyeCalls.incrementAndGet();
+                    return ctx.get(Properties.HELLO_WORLD) + " was nice, but now: Goodbye!";
+                }))
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, WarmUpTest.class, _ -> {
+                    helloCalls.incrementAndGet();
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return "Hello World";
+                }))
+                .build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            introspection.warmUp(executor).join();
+        }
+
+        assertEquals(1, helloCalls.get());
+        assertEquals(1, goodbyeCalls.get());
+        assertEquals("Hello World was nice, but now: Goodbye!", introspection.get(Properties.GOODBYE));
+    }
+
+    @Test(timeout = 10_000)
+    public void warm_up_in_parallel() {
+        // only passes if both providers are called at the same time
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, WarmUpTest.class, _ -> {
+                    await(barrier);
+                    return "Hello World";
+                }))
+                .add(new TestPropertyProvider<>(Properties.GOODBYE, Priority.FALLBACK, WarmUpTest.class, _ -> {
+                    await(barrier);
+                    return "Goodbye!";
+                }))
+                .build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            introspection.warmUp(executor).join();
+        }
+
+        assertEquals("Hello World", introspection.get(Properties.HELLO_WORLD));
+        assertEquals("Goodbye!", introspection.get(Properties.GOODBYE));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test(timeout = 10_000)
+    public void warm_up_failure() {
+        TestIntrospectionImpl introspection = TestIntrospectionImpl.create(Scopes.ROOT)
+                .add(new TestPropertyProvider<>(Properties.HELLO_WORLD, Priority.FALLBACK, WarmUpTest.class, _ -> {
+                    throw new IllegalStateException("failed");
+                }))
+                .build();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionException exception = assertThrows(CompletionException.class, () -> introspection.warmUp(executor).join());
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+    }
+}
@@ -3,11 +3,12 @@ package logic.impl;
 import dev.goldmensch.propane.Scope;
 import dev.goldmensch.propane.property.EnumerationPropertySkeleton;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 public class TestEnumerationProperty<T> extends EnumerationPropertySkeleton<T> implements TestProperty<Collection<T>> {
     public TestEnumerationProperty(String name, Source source, Scope scope, Class<T> type, FallbackStrategy fallbackStrategy) {
-        super(name, source, scope, type, fallbackStrategy);
+        super(ORDINALS.ordinal(Arrays.asList(TestEnumerationProperty.class, name, source, scope, type, fallbackStrategy)), name, source, scope, type, fallbackStrategy);
     }
 
     @Override
@@ -43,6 +43,11 @@ public class TestIntrospectionImpl extends IntrospectionImplSkeleton<TestIntrosp
         return ScopedValue.where(INTROSPECTION, this);
     }
 
+    @Override
+    public boolean isScoped() {
+        return INTROSPECTION.isBound() && INTROSPECTION.get() == this;
+    }
+
     @Override
     public TestBuilder createChild(Scope scope) {
         return this.new TestBuilder(scope);
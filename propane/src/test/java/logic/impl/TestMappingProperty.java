@@ -3,11 +3,12 @@ package logic.impl;
 import dev.goldmensch.propane.Scope;
 import dev.goldmensch.propane.property.MappingPropertySkeleton;
 
+import java.util.Arrays;
 import java.util.Map;
 
 public class TestMappingProperty<K, V> extends MappingPropertySkeleton<K, V> implements TestProperty<Map<K, V>> {
     public TestMappingProperty(String name, Source source, Scope scope, Class<K> keyType, Class<V> valueType, FallbackStrategy fallbackStrategy) {
-        super(name, source, scope, keyType, valueType, fallbackStrategy);
+        super(ORDINALS.ordinal(Arrays.asList(TestMappingProperty.class, name, source, scope, keyType, valueType, fallbackStrategy)), name, source, scope, keyType, valueType, fallbackStrategy);
     }
 
     @Override
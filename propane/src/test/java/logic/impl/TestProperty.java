@@ -1,7 +1,12 @@
 package logic.impl;
 
-import dev.goldmensch.propane.property.Property;
+import dev.goldmensch.propane.Registry;
+import dev.goldmensch.propane.Scope;
 import dev.goldmensch.propane.property.SpecificProperty;
 
+import java.util.Map;
+
 public interface TestProperty<T> extends SpecificProperty<T> {
+    // replaces the ordinals assigned by the generated registry
+    Registry<Scope> ORDINALS = new Registry<>(Map.of());
 }
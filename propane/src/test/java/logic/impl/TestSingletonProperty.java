@@ -3,9 +3,11 @@ package logic.impl;
 import dev.goldmensch.propane.Scope;
 import dev.goldmensch.propane.property.SingletonPropertySkeleton;
 
+import java.util.Arrays;
+
 public class TestSingletonProperty<T> extends SingletonPropertySkeleton<T> implements TestProperty<T>{
     public TestSingletonProperty(String name, Source source, Scope scope, Class<T> type) {
-        super(name, source, scope, type);
+        super(ORDINALS.ordinal(Arrays.asList(TestSingletonProperty.class, name, source, scope, type)), name, source, scope, type);
     }
 
     @Override
@@ -1,12 +1,14 @@
 package spec;
 
 import dev.goldmensch.propane.property.Priority;
+import dev.goldmensch.propane.property.Property;
 import org.junit.Assert;
 import org.junit.Test;
 import spec.bar.BarIntrospection;
 import spec.bar.internal.BarIntrospectionImpl;
 import spec.bar.BarScope;
 import spec.internal.GenTestIntrospectionImpl;
+import spec.internal.GenTestSingletonProperty;
 
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,44 @@ public class GenerationTest {
         Assert.assertEquals(Map.of("hello", "world"), build.get(GenTestProperty.FOO_MAPPING));
     }
 
+    @Test
+    public void compile_time_ordinals() {
+        Assert.assertEquals(0, GenTestProperty.INTROSPECTION.generalized().ordinal());
+        Assert.assertEquals(1, GenTestProperty.FOO_SINGLE.generalized().ordinal());
+        Assert.assertEquals(3, GenTestProperty.FOO_MAPPING.generalized().ordinal());
+        Assert.assertEquals(4, GenTestProperty.FOO_ENUMERATION.generalized().ordinal());
+    }
+
+    @Test
+    public void runtime_property() {
+        GenTestProperty<String> runtime = new GenTestSingletonProperty<>("RUNTIME", Property.Source.PROVIDED, GenTestScope.ROOT, String.class);
+        Assert.assertTrue(runtime.generalized().ordinal() > GenTestProperty.FOO_ENUMERATION.generalized().ordinal());
+
+        GenTestIntrospection build = GenTestIntrospectionImpl.create(GenTestScope.ROOT)
+                .add(new GenTestPropertyProvider<>(runtime, Priority.FALLBACK, GenerationTest.class, _ -> "runtime"))
+                .build();
+
+        Assert.assertEquals("runtime", build.get(runtime));
+    }
+
+    @Test
+    public void equal_properties_share_ordinal() {
+        GenTestProperty<String> first = new GenTestSingletonProperty<>("EQUAL", Property.Source.PROVIDED, GenTestScope.ROOT, String.class);
+        GenTestProperty<String> second = new GenTestSingletonProperty<>("EQUAL", Property.Source.PROVIDED, GenTestScope.ROOT, String.class);
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(first.generalized().ordinal(), second.generalized().ordinal());
+
+        GenTestProperty<String> single = new GenTestSingletonProperty<>("FOO_SINGLE", Property.Source.PROVIDED, GenTestScope.ROOT, String.class);
+        Assert.assertEquals(GenTestProperty.FOO_SINGLE, single);
+        Assert.assertEquals(GenTestProperty.FOO_SINGLE.generalized().ordinal(), single.generalized().ordinal());
+
+        GenTestIntrospection build = GenTestIntrospectionImpl.create(GenTestScope.ROOT)
+                .add(new GenTestPropertyProvider<>(first, Priority.FALLBACK, GenerationTest.class, _ -> "equal"))
+                .build();
+
+        Assert.assertEquals("equal", build.get(second));
+    }
+
     @Test
     public void getEventScope() {
         GenTestScope scope = new FooGenerationEvent().scope();
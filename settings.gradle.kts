@@ -5,3 +5,4 @@ plugins {
 
 rootProject.name = "propane"
 include("propane")
+include("propane-benchmarks")